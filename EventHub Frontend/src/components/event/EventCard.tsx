@@ -36,7 +36,7 @@ export default function EventCard({ event, featured }: { event: Event; featured?
       {/* ─── IMAGE HEADER ─── */}
       <Link to={`/events/${event.id}`} className="relative h-44 w-full bg-ink-900 overflow-hidden shrink-0 block">
         <img 
-          src={getImageUrl(event.cardImageUrl || event.posterUrl)} 
+          src={getImageUrl(event.cardUrl || event.cardImageUrl || event.posterUrl)} 
           alt={event.title} 
           className="w-full h-full object-cover group-hover:scale-105 transition-transform duration-700 ease-out opacity-90 group-hover:opacity-100" 
         />
@@ -165,7 +165,7 @@ export default function EventDetailPage() {
 
   return (
     <div className="animate-fade-in">
-      <div className="relative h-72 md:h-96 w-full bg-ink-900" style={{ backgroundImage: `url(${getImageUrl(event.posterUrl)})`, backgroundSize: 'cover', backgroundPosition: 'center' }}>
+      <div className="relative h-72 md:h-96 w-full bg-ink-900" style={{ backgroundImage: `url(${getImageUrl(event.heroUrl || event.posterUrl)})`, backgroundSize: 'cover', backgroundPosition: 'center' }}>
         <div className="absolute inset-0 bg-ink-900/60 backdrop-blur-[1px]" />
         <div className="absolute inset-0 flex flex-col justify-end p-8">
           <div className="page-container">
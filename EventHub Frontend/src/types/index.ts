@@ -57,6 +57,9 @@ export interface Event {
   registrationDeadline: string
   posterUrl?: string       // hero image — event detail page
   cardImageUrl?: string    // thumbnail — event listing cards
+  thumbnailUrl?: string    // resized variants, set shortly after an upload completes
+  cardUrl?: string
+  heroUrl?: string
   status: EventStatus
   reminderHours: number
   hostId: number
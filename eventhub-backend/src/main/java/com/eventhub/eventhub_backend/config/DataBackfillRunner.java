@@ -0,0 +1,182 @@
+package com.eventhub.eventhub_backend.config;
+
+import com.eventhub.eventhub_backend.repository.EventDailyStatsRepository;
+import com.eventhub.eventhub_backend.repository.EventRatingStatsRepository;
+import com.eventhub.eventhub_backend.service.AnalyticsRollupService;
+import com.eventhub.eventhub_backend.service.SchedulerLeaseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * One-off data migrations that ddl-auto=update cannot express. Each step checks
+ * whether it still has work to do, so running it on every startup is harmless,
+ * and the scheduler lease keeps two nodes booting together from racing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DataBackfillRunner implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLeaseService leaseService;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final EventDailyStatsRepository dailyStatsRepository;
+    private final EventRatingStatsRepository ratingStatsRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        leaseService.runExclusively("data-backfill", Duration.ofMinutes(10), Duration.ZERO, () -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> installDailyStatsTrigger());
+                transactionTemplate.executeWithoutResult(status -> migrateTeamNamesToTeams());
+                backfillDailyStats();
+                transactionTemplate.executeWithoutResult(status -> backfillRatingStats());
+            } catch (Exception e) {
+                log.error("Data backfill failed: {}", e.getMessage(), e);
+            }
+        });
+    }
+
+    // ─── registrations.team_name → teams ─────────────────────────────────────────
+    // Copy only: the legacy column and team_members are left in place so nodes still
+    // running the previous release keep working and the source data survives. Rows
+    // such nodes write are picked up on the next startup. The drop ships as a Flyway
+    // migration once no unlinked rows are reported (db/migration-next).
+
+    private void migrateTeamNamesToTeams() {
+        if (!columnExists("registrations", "team_name")) return;
+
+        int teams = jdbcTemplate.update("""
+                INSERT INTO teams (event_id, name, leader_id, status, member_count, pending_count, created_at)
+                SELECT r.event_id, r.team_name,
+                       (ARRAY_AGG(r.user_id ORDER BY (r.status = 'PENDING_INVITATION'), r.registered_at, r.id))[1],
+                       'INCOMPLETE', 0, 0, MIN(r.registered_at)
+                FROM registrations r
+                WHERE r.team_name IS NOT NULL AND r.team_name <> '' AND r.team_id IS NULL
+                GROUP BY r.event_id, r.team_name
+                ON CONFLICT (event_id, name) DO NOTHING
+                """);
+
+        List<Long> linkedTeams = jdbcTemplate.queryForList("""
+                UPDATE registrations r SET team_id = t.id
+                FROM teams t
+                WHERE r.team_id IS NULL AND t.event_id = r.event_id AND t.name = r.team_name
+                RETURNING r.team_id
+                """, Long.class);
+
+        if (!linkedTeams.isEmpty()) {
+            // Counters and status of the teams that gained members are re-derived from their registrations
+            String teamIds = linkedTeams.stream().distinct().map(String::valueOf)
+                    .collect(Collectors.joining(",", "{", "}"));
+            jdbcTemplate.update("""
+                    UPDATE teams t
+                    SET member_count = c.members,
+                        pending_count = c.pending,
+                        status = c.status
+                    FROM (SELECT team_id,
+                                 COUNT(*) FILTER (WHERE status IN ('REGISTERED', 'WAITLIST', 'INCOMPLETE')) AS members,
+                                 COUNT(*) FILTER (WHERE status = 'PENDING_INVITATION') AS pending,
+                                 CASE WHEN BOOL_OR(status = 'REGISTERED') THEN 'REGISTERED'
+                                      WHEN BOOL_OR(status = 'INCOMPLETE') THEN 'INCOMPLETE'
+                                      WHEN BOOL_OR(status = 'WAITLIST') THEN 'WAITLIST'
+                                      ELSE 'INCOMPLETE' END AS status
+                          FROM registrations
+                          WHERE team_id = ANY (CAST(? AS bigint[]))
+                          GROUP BY team_id) c
+                    WHERE t.id = c.team_id
+                    """, teamIds);
+            log.info("Migrated team names: {} teams created, {} registrations linked", teams, linkedTeams.size());
+        }
+
+        Integer unlinked = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM registrations
+                WHERE team_name IS NOT NULL AND team_name <> '' AND team_id IS NULL
+                """, Integer.class);
+        if (unlinked != null && unlinked > 0) {
+            log.warn("{} registrations still have a team_name but no team; keep registrations.team_name", unlinked);
+        }
+    }
+
+    // ─── event_daily_stats change tracking ───────────────────────────────────────
+    // Every change to a registration's event, status or day queues its event for the
+    // analytics rollup, whichever path made it (JPA, bulk SQL, CSV import). Triggers
+    // are beyond ddl-auto, hence this step. The first install queues every event,
+    // as changes made before it were not tracked.
+
+    private void installDailyStatsTrigger() {
+        jdbcTemplate.execute("""
+                CREATE OR REPLACE FUNCTION queue_event_daily_stats() RETURNS trigger AS $$
+                BEGIN
+                    IF TG_OP <> 'INSERT' THEN
+                        INSERT INTO event_daily_stats_dirty (event_id) VALUES (OLD.event_id)
+                        ON CONFLICT (event_id) DO NOTHING;
+                    END IF;
+                    IF TG_OP <> 'DELETE' THEN
+                        INSERT INTO event_daily_stats_dirty (event_id) VALUES (NEW.event_id)
+                        ON CONFLICT (event_id) DO NOTHING;
+                    END IF;
+                    RETURN NULL;
+                END
+                $$ LANGUAGE plpgsql
+                """);
+        if (triggerExists("registrations", "trg_registrations_daily_stats")) return;
+
+        jdbcTemplate.execute("""
+                CREATE TRIGGER trg_registrations_daily_stats
+                AFTER INSERT OR DELETE OR UPDATE OF event_id, status, registered_at ON registrations
+                FOR EACH ROW EXECUTE FUNCTION queue_event_daily_stats()
+                """);
+        int queued = dailyStatsRepository.markAllEventsChanged();
+        log.info("Installed registrations trigger for the analytics rollup; queued {} events", queued);
+    }
+
+    // ─── event_daily_stats history ───────────────────────────────────────────────
+
+    private void backfillDailyStats() {
+        Integer orphans = transactionTemplate.execute(status -> dailyStatsRepository.deleteOrphans());
+        if (orphans != null && orphans > 0) {
+            log.info("Removed {} event_daily_stats rows of deleted events", orphans);
+        }
+        if (dailyStatsRepository.count() > 0) return;
+
+        analyticsRollupService.rebuildAll();
+        log.info("Backfilled event_daily_stats: {} rows", dailyStatsRepository.count());
+    }
+
+    // ─── event_rating_stats totals ───────────────────────────────────────────────
+
+    private void backfillRatingStats() {
+        if (ratingStatsRepository.count() > 0) return;
+
+        int events = ratingStatsRepository.rebuildAll();
+        if (events > 0) {
+            log.info("Backfilled event_rating_stats for {} events", events);
+        }
+    }
+
+    private boolean triggerExists(String table, String trigger) {
+        Integer count = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM pg_trigger t JOIN pg_class c ON c.oid = t.tgrelid
+                WHERE c.relname = ? AND t.tgname = ? AND pg_table_is_visible(c.oid)
+                """, Integer.class, table, trigger);
+        return count != null && count > 0;
+    }
+
+    private boolean columnExists(String table, String column) {
+        Integer count = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.columns
+                WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?
+                """, Integer.class, table, column);
+        return count != null && count > 0;
+    }
+}
@@ -1,5 +1,6 @@
 package com.eventhub.eventhub_backend.config;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -9,6 +10,7 @@ import java.util.concurrent.Executor;
 
 @Configuration
 @EnableAsync
+@Slf4j
 public class EmailConfig {
 
     @Bean(name = "emailTaskExecutor")
@@ -21,6 +23,11 @@ public class EmailConfig {
         // The queue size for incoming emails when all threads are busy
         executor.setQueueCapacity(100);
         executor.setThreadNamePrefix("EmailSender-");
+        // Only best-effort notifications run here (OTP emails are sent synchronously by
+        // EmailService), so a backed-up mail provider drops them rather than failing the
+        // request that triggered them
+        executor.setRejectedExecutionHandler((task, pool) ->
+                log.warn("Email queue is full; dropping an email"));
         executor.initialize();
         return executor;
     }
@@ -0,0 +1,37 @@
+package com.eventhub.eventhub_backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+public class LiveStreamConfig {
+
+    // Drains per-connection queues of the live comment streams. Writes to a slow
+    // client block only the drain task of that client, never the comment request.
+    @Bean(name = "commentFanoutExecutor")
+    public Executor commentFanoutExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("CommentFanout-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Same pattern for host registration dashboards, kept apart so a burst of comment
+    // traffic cannot delay dashboard updates and vice versa
+    @Bean(name = "registrationFanoutExecutor")
+    public Executor registrationFanoutExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("RegistrationFanout-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,35 @@
+package com.eventhub.eventhub_backend.config;
+
+import com.eventhub.eventhub_backend.util.DependencyGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ResilienceConfig {
+
+    @Bean(name = "cloudinaryGuard")
+    public DependencyGuard cloudinaryGuard(MeterRegistry meterRegistry,
+                                           @Value("${app.resilience.cloudinary.max-concurrent:6}") int maxConcurrent,
+                                           @Value("${app.resilience.cloudinary.max-wait-ms:5000}") long maxWaitMs,
+                                           @Value("${app.resilience.cloudinary.slow-call-ms:20000}") long slowCallMs,
+                                           @Value("${app.resilience.cloudinary.failure-threshold:5}") int failureThreshold,
+                                           @Value("${app.resilience.cloudinary.open-seconds:30}") long openSeconds) {
+        return new DependencyGuard("cloudinary", "Image storage", maxConcurrent, Duration.ofMillis(maxWaitMs),
+                Duration.ofMillis(slowCallMs), failureThreshold, Duration.ofSeconds(openSeconds), meterRegistry);
+    }
+
+    @Bean(name = "smtpGuard")
+    public DependencyGuard smtpGuard(MeterRegistry meterRegistry,
+                                     @Value("${app.resilience.smtp.max-concurrent:4}") int maxConcurrent,
+                                     @Value("${app.resilience.smtp.max-wait-ms:10000}") long maxWaitMs,
+                                     @Value("${app.resilience.smtp.slow-call-ms:8000}") long slowCallMs,
+                                     @Value("${app.resilience.smtp.failure-threshold:5}") int failureThreshold,
+                                     @Value("${app.resilience.smtp.open-seconds:60}") long openSeconds) {
+        return new DependencyGuard("smtp", "Email delivery", maxConcurrent, Duration.ofMillis(maxWaitMs),
+                Duration.ofMillis(slowCallMs), failureThreshold, Duration.ofSeconds(openSeconds), meterRegistry);
+    }
+}
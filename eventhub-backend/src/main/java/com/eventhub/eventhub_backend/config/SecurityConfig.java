@@ -3,6 +3,7 @@ package com.eventhub.eventhub_backend.config;
 import org.springframework.beans.factory.annotation.Value; // <-- Added Import
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 
+import com.eventhub.eventhub_backend.security.IdempotencyFilter;
 import com.eventhub.eventhub_backend.security.JwtAuthenticationFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -35,6 +36,7 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final IdempotencyFilter idempotencyFilter;
     private final UserDetailsService userDetailsService;
 
     // <-- Injected the frontend URL from application.properties
@@ -56,7 +58,9 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Runs once the caller is known, so idempotency keys can be scoped per user
+                .addFilterAfter(idempotencyFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
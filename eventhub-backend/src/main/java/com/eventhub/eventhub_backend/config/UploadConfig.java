@@ -0,0 +1,29 @@
+package com.eventhub.eventhub_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+@Configuration
+public class UploadConfig {
+
+    // Remote image uploads run here instead of on request threads. Bounded on both
+    // threads and queue: when full, new uploads are refused with 429 rather than
+    // piling spooled files up on disk.
+    @Bean(name = "uploadTaskExecutor")
+    public Executor uploadTaskExecutor(@Value("${app.upload.worker-threads:4}") int threads,
+                                       @Value("${app.upload.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ImageUpload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -5,7 +5,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.io.File;
@@ -32,25 +31,7 @@ public class WebConfig implements WebMvcConfigurer {
         }
     }
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        String absolutePath = Paths.get(uploadDir)
-                .toAbsolutePath()
-                .normalize()
-                .toString()
-                .replace("\\", "/"); // normalize Windows backslashes
-
-        // Must end with /
-        if (!absolutePath.endsWith("/")) {
-            absolutePath = absolutePath + "/";
-        }
-
-        log.info("=== Resource handler path: file:{}", absolutePath);
-
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:" + absolutePath)
-                .setCachePeriod(0);
-    }
+    // /uploads/** is served by UploadsController (ETags, ranges, zero-copy bodies)
 
     @Override
     public void addCorsMappings(CorsRegistry registry) {
@@ -3,6 +3,7 @@ package com.eventhub.eventhub_backend.controller;
 import com.eventhub.eventhub_backend.dto.response.ApiResponse;
 import com.eventhub.eventhub_backend.dto.response.HostRequestResponse;
 import com.eventhub.eventhub_backend.dto.response.UserResponse;
+import com.eventhub.eventhub_backend.service.AnalyticsRollupService;
 import com.eventhub.eventhub_backend.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +19,7 @@ import java.util.List;
 public class AdminController {
 
     private final AuthService authService;
+    private final AnalyticsRollupService analyticsRollupService;
 
     // GET http://localhost:8080/api/admin/host-requests
     @GetMapping("/host-requests")
@@ -53,4 +55,11 @@ public class AdminController {
     public ResponseEntity<ApiResponse<UserResponse>> demoteToStudent(@PathVariable Long id) {
         return ResponseEntity.ok(ApiResponse.success("User demoted to Student", authService.demoteToStudent(id)));
     }
-}
\ No newline at end of file
+
+    // Recomputes the analytics rollup for every event, e.g. after a manual data fix
+    @PostMapping("/analytics/rebuild")
+    public ResponseEntity<ApiResponse<Void>> rebuildAnalytics() {
+        analyticsRollupService.rebuildAll();
+        return ResponseEntity.ok(ApiResponse.success("Analytics rollup rebuilt", null));
+    }
+}
@@ -3,9 +3,11 @@ package com.eventhub.eventhub_backend.controller;
 import com.eventhub.eventhub_backend.dto.request.AuthRequests;
 import com.eventhub.eventhub_backend.dto.response.ApiResponse;
 import com.eventhub.eventhub_backend.dto.response.AuthResponse;
+import com.eventhub.eventhub_backend.dto.response.UploadJobResponse;
 import com.eventhub.eventhub_backend.dto.response.UserResponse;
+import com.eventhub.eventhub_backend.enums.UploadTarget;
 import com.eventhub.eventhub_backend.service.AuthService;
-import com.eventhub.eventhub_backend.service.FileStorageService;
+import com.eventhub.eventhub_backend.service.ImageUploadService;
 import com.eventhub.eventhub_backend.util.SecurityUtils;
 import com.eventhub.eventhub_backend.dto.response.HostRequestResponse;
 
@@ -22,7 +24,7 @@ import org.springframework.web.multipart.MultipartFile;
 public class AuthController {
 
     private final AuthService authService;
-    private final FileStorageService fileStorageService;
+    private final ImageUploadService imageUploadService;
     private final SecurityUtils securityUtils;
 
     @PostMapping("/register")
@@ -85,10 +87,10 @@ public class AuthController {
     }
 
     @PostMapping("/avatar")
-    public ResponseEntity<ApiResponse<String>> uploadAvatar(@RequestParam("file") MultipartFile file) {
-        String url = fileStorageService.storeFile(file, "avatars");
-        authService.updateProfileImage(securityUtils.getCurrentUserId(), url);
-        return ResponseEntity.ok(ApiResponse.success("Avatar uploaded", url));
+    public ResponseEntity<ApiResponse<UploadJobResponse>> uploadAvatar(@RequestParam("file") MultipartFile file) {
+        Long userId = securityUtils.getCurrentUserId();
+        return ResponseEntity.accepted().body(ApiResponse.success("Avatar upload started",
+                imageUploadService.submit(UploadTarget.USER_AVATAR, userId, userId, file)));
     }
 
     @PostMapping("/apply-host")
@@ -5,19 +5,35 @@ import com.eventhub.eventhub_backend.dto.request.EventRequest;
 import com.eventhub.eventhub_backend.dto.request.FeedbackRequests;
 import com.eventhub.eventhub_backend.dto.request.TeamRegistrationRequest;
 import com.eventhub.eventhub_backend.dto.response.*;
+import com.eventhub.eventhub_backend.enums.RegistrationStatus;
+import com.eventhub.eventhub_backend.enums.UploadTarget;
+import com.eventhub.eventhub_backend.service.AttendeeExportService;
+import com.eventhub.eventhub_backend.service.AttendeeImportService;
+import com.eventhub.eventhub_backend.service.CommentThrottleService;
 import com.eventhub.eventhub_backend.service.EventService;
 import com.eventhub.eventhub_backend.service.FeedbackService;
-import com.eventhub.eventhub_backend.service.FileStorageService;
+import com.eventhub.eventhub_backend.service.HostAnalyticsService;
+import com.eventhub.eventhub_backend.service.ImageUploadService;
+import com.eventhub.eventhub_backend.service.LiveCommentService;
+import com.eventhub.eventhub_backend.service.LiveRegistrationService;
+import com.eventhub.eventhub_backend.service.ViewTrackingService;
 import com.eventhub.eventhub_backend.util.SecurityUtils;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.security.Principal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -27,8 +43,15 @@ import java.util.Map;
 public class EventController {
 
     private final EventService eventService;
+    private final AttendeeImportService attendeeImportService;
+    private final AttendeeExportService attendeeExportService;
+    private final HostAnalyticsService hostAnalyticsService;
+    private final LiveRegistrationService liveRegistrationService;
+    private final LiveCommentService liveCommentService;
+    private final ViewTrackingService viewTrackingService;
     private final FeedbackService feedbackService;
-    private final FileStorageService fileStorageService;
+    private final CommentThrottleService commentThrottleService;
+    private final ImageUploadService imageUploadService;
     private final SecurityUtils securityUtils;
 
     @GetMapping
@@ -37,10 +60,18 @@ public class EventController {
         return ResponseEntity.ok(ApiResponse.success(eventService.getEvents(filter, userId)));
     }
 
+    @GetMapping("/trending")
+    public ResponseEntity<ApiResponse<List<EventResponse>>> getTrendingEvents(
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(eventService.getTrendingEvents(limit, tryGetUserId())));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<EventResponse>> getEvent(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<EventResponse>> getEvent(@PathVariable Long id, HttpServletRequest request) {
         Long userId = tryGetUserId();
-        return ResponseEntity.ok(ApiResponse.success(eventService.getEventById(id, userId)));
+        EventResponse event = eventService.getEventById(id, userId);
+        viewTrackingService.recordView(id, viewerKey(request, userId));
+        return ResponseEntity.ok(ApiResponse.success(event));
     }
 
     @PostMapping
@@ -57,6 +88,44 @@ public class EventController {
                 eventService.getEventAttendees(id, securityUtils.getCurrentUserId())));
     }
 
+    @GetMapping("/{id}/attendees/page")
+    @PreAuthorize("hasAnyRole('HOST', 'SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<AttendeePageResponse>> getAttendeesPage(
+            @PathVariable Long id,
+            @RequestParam(required = false) RegistrationStatus status,
+            @RequestParam(required = false) String team,
+            @RequestParam(required = false) String batch,
+            @RequestParam(required = false) String course,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(ApiResponse.success(eventService.getEventAttendeesPage(
+                id, securityUtils.getCurrentUserId(), status, team, batch, course, cursor, size)));
+    }
+
+    // Streams rows as they are read, for events too large for the attendees endpoint
+    @GetMapping("/{id}/attendees/export")
+    @PreAuthorize("hasAnyRole('HOST', 'SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAttendees(
+            @PathVariable Long id, @RequestParam(defaultValue = "csv") String format) {
+        AttendeeExportService.Format exportFormat = AttendeeExportService.parseFormat(format);
+        attendeeExportService.getExportableEvent(id, securityUtils.getCurrentUserId());
+
+        boolean csv = exportFormat == AttendeeExportService.Format.CSV;
+        String filename = "event-" + id + "-attendees." + (csv ? "csv" : "jsonl");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(csv ? MediaType.parseMediaType("text/csv;charset=UTF-8") : MediaType.APPLICATION_NDJSON)
+                .body(attendeeExportService.export(id, exportFormat));
+    }
+
+    @PostMapping("/{id}/attendees/import")
+    @PreAuthorize("hasAnyRole('HOST', 'SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<AttendeeImportResponse>> importAttendees(
+            @PathVariable Long id, @RequestParam("file") MultipartFile file) {
+        return ResponseEntity.ok(ApiResponse.success("Attendee import finished",
+                attendeeImportService.importAttendees(id, securityUtils.getCurrentUserId(), file)));
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('HOST', 'SUPER_ADMIN')")
     public ResponseEntity<ApiResponse<EventResponse>> updateEvent(
@@ -67,11 +136,10 @@ public class EventController {
 
     @PostMapping("/{id}/poster")
     @PreAuthorize("hasAnyRole('HOST', 'SUPER_ADMIN')")
-    public ResponseEntity<ApiResponse<EventResponse>> uploadPoster(
+    public ResponseEntity<ApiResponse<UploadJobResponse>> uploadPoster(
             @PathVariable Long id, @RequestParam("file") MultipartFile file) {
-        String url = fileStorageService.storeFile(file, "posters");
-        return ResponseEntity.ok(ApiResponse.success("Poster uploaded",
-                eventService.uploadPoster(id, securityUtils.getCurrentUserId(), url)));
+        return ResponseEntity.accepted().body(ApiResponse.success("Poster upload started",
+                imageUploadService.submit(UploadTarget.EVENT_POSTER, id, securityUtils.getCurrentUserId(), file)));
     }
 
     @DeleteMapping("/{id}")
@@ -116,6 +184,13 @@ public class EventController {
         return ResponseEntity.ok(ApiResponse.success("Teammates invited successfully", null));
     }
 
+    @GetMapping("/{id}/waitlist/position")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<WaitlistPositionResponse>> getWaitlistPosition(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(
+                eventService.getWaitlistPosition(id, securityUtils.getCurrentUserId())));
+    }
+
     @DeleteMapping("/{id}/team/decline")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<Void>> declineTeamInvite(@PathVariable Long id) {
@@ -132,6 +207,22 @@ public class EventController {
                 eventService.getAnalytics(id, securityUtils.getCurrentUserId())));
     }
 
+    // Server-sent events: a "snapshot" on connect, then coalesced "delta" messages
+    @GetMapping(value = "/{id}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('HOST', 'SUPER_ADMIN')")
+    public SseEmitter liveRegistrations(@PathVariable Long id) {
+        return liveRegistrationService.subscribe(id, securityUtils.getCurrentUserId());
+    }
+
+    @GetMapping("/my-events/analytics")
+    @PreAuthorize("hasAnyRole('HOST', 'SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<HostAnalyticsResponse>> getMyEventsAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(ApiResponse.success(
+                hostAnalyticsService.getHostAnalytics(securityUtils.getCurrentUserId(), from, to)));
+    }
+
     @GetMapping("/my-events")
     @PreAuthorize("hasAnyRole('HOST', 'SUPER_ADMIN')")
     public ResponseEntity<ApiResponse<Page<EventResponse>>> getMyEvents(
@@ -145,17 +236,19 @@ public class EventController {
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<CommentResponse>> addComment(
             @PathVariable Long id, @Valid @RequestBody FeedbackRequests.CommentRequest request) {
+        Long userId = securityUtils.getCurrentUserId();
+        // Throttled before the service opens a transaction, so rejected posts cost no DB work
+        commentThrottleService.checkCanComment(userId, id);
         return ResponseEntity.status(201).body(ApiResponse.success("Comment added",
-                feedbackService.addComment(id, securityUtils.getCurrentUserId(), request)));
+                feedbackService.addComment(id, userId, request)));
     }
 
     @PostMapping("/{id}/card-image")
     @PreAuthorize("hasAnyRole('HOST', 'SUPER_ADMIN')")
-    public ResponseEntity<ApiResponse<EventResponse>> uploadCardImage(
+    public ResponseEntity<ApiResponse<UploadJobResponse>> uploadCardImage(
             @PathVariable Long id, @RequestParam("file") MultipartFile file) {
-        String url = fileStorageService.storeFile(file, "cards");
-        return ResponseEntity.ok(ApiResponse.success("Card image uploaded",
-                eventService.uploadCardImage(id, securityUtils.getCurrentUserId(), url)));
+        return ResponseEntity.accepted().body(ApiResponse.success("Card image upload started",
+                imageUploadService.submit(UploadTarget.EVENT_CARD, id, securityUtils.getCurrentUserId(), file)));
     }
 
     @GetMapping("/{id}/comments")
@@ -166,6 +259,24 @@ public class EventController {
         return ResponseEntity.ok(ApiResponse.success(feedbackService.getComments(id, page, size)));
     }
 
+    // Keyset-paged: pass the previous page's nextCursor as "before"
+    @GetMapping("/{id}/comments/feed")
+    public ResponseEntity<ApiResponse<CommentPageResponse>> getCommentFeed(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(ApiResponse.success(feedbackService.getCommentFeed(id, before, size)));
+    }
+
+    // Server-sent "comment" events as they are posted; reconnects resume after sinceId / Last-Event-ID
+    @GetMapping(value = "/{id}/comments/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter liveComments(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long sinceId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return liveCommentService.subscribe(id, sinceId != null ? sinceId : lastEventId);
+    }
+
     @PostMapping("/{id}/rating")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<RatingResponse>> rateEvent(
@@ -174,6 +285,20 @@ public class EventController {
                 feedbackService.addOrUpdateRating(id, securityUtils.getCurrentUserId(), request)));
     }
 
+    @GetMapping("/{id}/ratings/summary")
+    public ResponseEntity<ApiResponse<RatingSummaryResponse>> getRatingSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(feedbackService.getRatingSummary(id)));
+    }
+
+    // Signed-in users are deduplicated by id, anonymous visitors by client address. Only
+    // the address is used: headers are the client's to choose, so varying them would mint
+    // new viewers. Behind the proxy, Tomcat resolves getRemoteAddr() from X-Forwarded-For
+    // for trusted proxies only (server.forward-headers-strategy).
+    private String viewerKey(HttpServletRequest request, Long userId) {
+        if (userId != null) return "u:" + userId;
+        return "a:" + request.getRemoteAddr();
+    }
+
     private Long tryGetUserId() {
         try {
             return securityUtils.getCurrentUserId();
@@ -0,0 +1,24 @@
+package com.eventhub.eventhub_backend.controller;
+
+import com.eventhub.eventhub_backend.dto.response.ApiResponse;
+import com.eventhub.eventhub_backend.dto.response.UploadJobResponse;
+import com.eventhub.eventhub_backend.service.ImageUploadService;
+import com.eventhub.eventhub_backend.util.SecurityUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/upload-jobs")
+@RequiredArgsConstructor
+public class UploadJobController {
+
+    private final ImageUploadService imageUploadService;
+    private final SecurityUtils securityUtils;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<UploadJobResponse>> getUploadJob(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(
+                imageUploadService.getJob(id, securityUtils.getCurrentUserId())));
+    }
+}
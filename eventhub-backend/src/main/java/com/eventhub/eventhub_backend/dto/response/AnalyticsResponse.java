@@ -19,4 +19,15 @@ public class AnalyticsResponse {
     private Double averageRating;
     private long ratingCount;
     private List<Map<String, Object>> dailyRegistrationCounts;
+    private Funnel funnel;
+
+    // Page views through to seats, for view-to-registration conversion
+    @Data @Builder
+    public static class Funnel {
+        private long views;
+        private long uniqueViewers;
+        private long registrations;
+        private long waitlisted;
+        private double conversionRate;
+    }
 }
@@ -0,0 +1,29 @@
+package com.eventhub.eventhub_backend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class AttendeeImportResponse {
+    private Long eventId;
+    private int totalRows;
+    private int registered;
+    private int waitlisted;
+    private int skipped;
+    private List<RowResult> rows;
+
+    public enum Outcome {
+        REGISTERED, WAITLIST, ALREADY_REGISTERED, USER_NOT_FOUND, INVALID_EMAIL, DUPLICATE_IN_FILE
+    }
+
+    @Data
+    @Builder
+    public static class RowResult {
+        private int row;
+        private String email;
+        private Outcome outcome;
+    }
+}
@@ -0,0 +1,19 @@
+package com.eventhub.eventhub_backend.dto.response;
+
+import com.eventhub.eventhub_backend.enums.RegistrationStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class AttendeePageResponse {
+    private List<AttendeeResponse> items;
+    // Opaque keyset cursor for the next page; null on the last page
+    private String nextCursor;
+    private boolean hasNext;
+    // Per-status totals for the whole event, independent of the filters
+    private Map<RegistrationStatus, Long> statusCounts;
+}
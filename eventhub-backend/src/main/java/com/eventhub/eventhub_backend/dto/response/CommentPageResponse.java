@@ -0,0 +1,16 @@
+package com.eventhub.eventhub_backend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CommentPageResponse {
+    // Newest first
+    private List<CommentResponse> items;
+    // Pass as "before" to get the next (older) page; null on the last page
+    private Long nextCursor;
+    private boolean hasNext;
+}
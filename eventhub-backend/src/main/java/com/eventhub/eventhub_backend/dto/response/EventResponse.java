@@ -21,6 +21,9 @@ public class EventResponse {
     private LocalDateTime registrationDeadline;
     private String posterUrl;
     private String cardImageUrl;
+    private String thumbnailUrl;
+    private String cardUrl;
+    private String heroUrl;
     private EventStatus status;
     private Integer reminderHours;
 
@@ -0,0 +1,37 @@
+package com.eventhub.eventhub_backend.dto.response;
+
+import com.eventhub.eventhub_backend.enums.EventStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data @Builder
+public class HostAnalyticsResponse {
+    // Window used for the registration velocity figures
+    private LocalDate from;
+    private LocalDate to;
+    private int eventCount;
+    private long totalOccupied;
+    private long totalWaitlist;
+    private long totalRegistrationsInRange;
+    private List<EventSummary> events;
+
+    @Data @Builder
+    public static class EventSummary {
+        private Long eventId;
+        private String title;
+        private EventStatus status;
+        private LocalDateTime eventDate;
+        private int maxParticipants;
+        private long occupied;
+        private double fillPercentage;
+        private long waitlistCount;
+        private Double averageRating;
+        private long ratingCount;
+        private long registrationsInRange;
+        private double registrationsPerDay;
+    }
+}
@@ -0,0 +1,16 @@
+package com.eventhub.eventhub_backend.dto.response;
+
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data @Builder
+public class RatingSummaryResponse {
+    private Long eventId;
+    private Double averageRating;
+    private long ratingCount;
+    // Star value (1–5) → number of ratings
+    private Map<Integer, Long> distribution;
+}
@@ -0,0 +1,23 @@
+package com.eventhub.eventhub_backend.dto.response;
+
+import com.eventhub.eventhub_backend.enums.UploadStatus;
+import com.eventhub.eventhub_backend.enums.UploadTarget;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+public class UploadJobResponse {
+    private Long id;
+    private UploadTarget target;
+    private Long targetId;
+    private UploadStatus status;
+    // Set once COMPLETED
+    private String url;
+    // Set once FAILED
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
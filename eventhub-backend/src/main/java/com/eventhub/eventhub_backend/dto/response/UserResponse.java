@@ -16,5 +16,6 @@ public class UserResponse {
     private String email;
     private Role role;
     private String profileImageUrl;
+    private String profileImageThumbUrl;
     private LocalDateTime createdAt;
 }
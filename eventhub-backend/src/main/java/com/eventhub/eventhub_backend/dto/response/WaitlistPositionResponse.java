@@ -0,0 +1,11 @@
+package com.eventhub.eventhub_backend.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data @Builder
+public class WaitlistPositionResponse {
+    private Long eventId;
+    private long position;
+    private long waitlistSize;
+}
@@ -1,7 +1,6 @@
 package com.eventhub.eventhub_backend.entity;
 
 import com.eventhub.eventhub_backend.enums.EventStatus;
-import com.eventhub.eventhub_backend.enums.RegistrationStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import lombok.*;
@@ -53,6 +52,11 @@ public class Event {
 
     private String cardImageUrl;
 
+    // Fixed-size variants rendered after upload; null until rendered
+    private String thumbnailUrl;    // small list rows (from the card image, else the poster)
+    private String cardUrl;         // catalog cards (from the card image, else the poster)
+    private String heroUrl;         // detail page banner (from the poster)
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Builder.Default
@@ -103,24 +107,4 @@ public class Event {
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
-
-    public long getRegistrationCount() {
-        return registrations.stream()
-                .filter(r -> r.getStatus() == RegistrationStatus.REGISTERED)
-                .count();
-    }
-
-    public long getWaitlistCount() {
-        return registrations.stream()
-                .filter(r -> r.getStatus() == RegistrationStatus.WAITLIST)
-                .count();
-    }
-
-    public boolean isTrending() {
-        return getRegistrationCount() > 50;
-    }
-
-    public int getAvailableSeats() {
-        return (int) (maxParticipants - getRegistrationCount());
-    }
-}
\ No newline at end of file
+}
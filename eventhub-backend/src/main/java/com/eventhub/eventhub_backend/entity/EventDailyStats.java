@@ -0,0 +1,27 @@
+package com.eventhub.eventhub_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Per-event, per-day registration totals, kept up to date by the analytics
+// rollup job so dashboards never aggregate the registrations table on read.
+@Entity
+@Table(name = "event_daily_stats")
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+public class EventDailyStats {
+
+    @EmbeddedId
+    private EventDailyStatsId id;
+
+    // Registrations made that day that currently hold a seat
+    @Column(name = "registered_count", nullable = false)
+    private long registeredCount;
+
+    @Column(name = "waitlist_count", nullable = false)
+    private long waitlistCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,17 @@
+package com.eventhub.eventhub_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// An event whose registrations changed since the analytics rollup last ran. Rows are
+// written by a trigger on registrations (installed by DataBackfillRunner) and claimed
+// by AnalyticsRollupService.
+@Entity
+@Table(name = "event_daily_stats_dirty")
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+public class EventDailyStatsDirty {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+}
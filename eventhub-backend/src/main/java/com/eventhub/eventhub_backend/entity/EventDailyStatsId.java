@@ -0,0 +1,19 @@
+package com.eventhub.eventhub_backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @EqualsAndHashCode
+public class EventDailyStatsId implements Serializable {
+
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "stat_date")
+    private LocalDate statDate;
+}
@@ -0,0 +1,46 @@
+package com.eventhub.eventhub_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Running rating totals per event, adjusted by each rating change so averages and
+// the star histogram never need a scan of ratings. No foreign key, like event_views.
+@Entity
+@Table(name = "event_rating_stats")
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+public class EventRatingStats {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_count", nullable = false)
+    private long ratingCount;
+
+    @Column(name = "stars_1", nullable = false)
+    private long stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    private long stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    private long stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    private long stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    private long stars5;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public Double getAverage() {
+        return ratingCount > 0 ? (double) ratingSum / ratingCount : null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.eventhub.eventhub_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Time-decayed activity score per event, stored as log2 of the score scaled to a
+// fixed epoch (see TrendingService). Scores from several nodes merge by log-sum.
+@Entity
+@Table(name = "event_trending_scores",
+        indexes = @Index(name = "idx_trending_log_score", columnList = "log_score"))
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+public class EventTrendingScore {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "log_score", nullable = false)
+    private double logScore;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,28 @@
+package com.eventhub.eventhub_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Running view totals per event, written only by ViewTrackingService's periodic
+// flush. No foreign key, so flushing never contends with event updates.
+@Entity
+@Table(name = "event_views")
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+public class EventViewStats {
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "total_views", nullable = false)
+    private long totalViews;
+
+    // Approximate: deduplicated per viewer within a rolling window
+    @Column(name = "unique_views", nullable = false)
+    private long uniqueViews;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,42 @@
+package com.eventhub.eventhub_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Stored outcome of a request sent with an Idempotency-Key header. A row with
+// no status code is a request still in flight; it doubles as a cross-node lock.
+@Entity
+@Table(name = "idempotency_keys",
+        indexes = @Index(name = "idx_idempotency_keys_expires", columnList = "expires_at"))
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+public class IdempotencyRecord {
+
+    // Caller identity plus the client-supplied key
+    @Id
+    @Column(name = "idempotency_key", length = 400)
+    private String idempotencyKey;
+
+    @Column(name = "request_path", nullable = false)
+    private String requestPath;
+
+    // SHA-256 of the method and body; null on rows written before it was recorded
+    @Column(name = "request_fingerprint", length = 64)
+    private String requestFingerprint;
+
+    @Column(name = "status_code")
+    private Integer statusCode;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
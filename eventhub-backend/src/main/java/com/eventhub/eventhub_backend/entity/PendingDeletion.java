@@ -0,0 +1,34 @@
+package com.eventhub.eventhub_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// A stored file waiting to be removed from the storage backend. Written in the
+// same transaction that stops referencing the file, processed later in batches.
+@Entity
+@Table(name = "pending_deletions",
+        indexes = @Index(name = "idx_pending_deletions_next_attempt", columnList = "next_attempt_at"))
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+public class PendingDeletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 1000)
+    private String url;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
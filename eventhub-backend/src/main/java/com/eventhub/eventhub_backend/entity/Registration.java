@@ -5,12 +5,15 @@ import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
 
 @Entity
 @Table(name = "registrations",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "event_id"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "event_id"}),
+        indexes = {
+                // Serves per-event status counts and FIFO waitlist scans without touching other events
+                @Index(name = "idx_registrations_event_status_time", columnList = "event_id, status, registered_at"),
+                @Index(name = "idx_registrations_team", columnList = "team_id")
+        })
 @Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
 public class Registration {
 
@@ -29,14 +32,16 @@ public class Registration {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private com.eventhub.eventhub_backend.enums.RegistrationStatus status;
-    @Column(name = "team_name")
-    private String teamName;
-    // ─── NEW TEAM MEMBERS FIELD ───
-    @OneToMany(mappedBy = "registration", cascade = CascadeType.ALL, orphanRemoval = true)
-    @Builder.Default
-    private List<TeamMember> teamMembers = new ArrayList<>();
-    // ──────────────────────────────
+
+    // Null for solo registrations; leader, members and pending invites all point at the same team
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "team_id")
+    private Team team;
 
     @CreationTimestamp
     private LocalDateTime registeredAt;
+
+    public String getTeamName() {
+        return team != null ? team.getName() : null;
+    }
 }
\ No newline at end of file
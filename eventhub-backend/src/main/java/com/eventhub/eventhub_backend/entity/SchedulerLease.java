@@ -0,0 +1,28 @@
+package com.eventhub.eventhub_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// One row per @Scheduled job. A node may only run the job while it holds an
+// unexpired lease; if it dies mid-run the lease simply times out and the next
+// node to tick takes over.
+@Entity
+@Table(name = "scheduler_leases")
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+public class SchedulerLease {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+
+    @Column(name = "locked_at", nullable = false)
+    private LocalDateTime lockedAt;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+}
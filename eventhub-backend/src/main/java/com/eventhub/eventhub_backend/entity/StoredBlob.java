@@ -0,0 +1,35 @@
+package com.eventhub.eventhub_backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// One stored image file, keyed by the SHA-256 of its bytes. ref_count is the number
+// of places (posters, cards, avatars, variants) currently pointing at the URL; a
+// blob at zero is deleted from storage after a grace period unless reused first.
+@Entity
+@Table(name = "stored_blobs",
+        indexes = @Index(name = "idx_stored_blobs_unreferenced", columnList = "unreferenced_at"))
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+public class StoredBlob {
+
+    @Id
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(nullable = false, unique = true, length = 1000)
+    private String url;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private int refCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "unreferenced_at")
+    private LocalDateTime unreferencedAt;
+}
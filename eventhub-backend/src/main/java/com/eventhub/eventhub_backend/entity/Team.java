@@ -0,0 +1,59 @@
+package com.eventhub.eventhub_backend.entity;
+
+import com.eventhub.eventhub_backend.enums.RegistrationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "teams",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"event_id", "name"}),
+        indexes = @Index(name = "idx_teams_event_status", columnList = "event_id, status"))
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+public class Team {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+
+    @Column(nullable = false)
+    private String name;
+
+    // Nullable so the leader can delete their account without dissolving the team
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "leader_id")
+    private User leader;
+
+    // INCOMPLETE until minTeamSize members have accepted, then REGISTERED or WAITLIST
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RegistrationStatus status;
+
+    // Accepted members, leader included. Maintained on every join/leave so
+    // completeness checks never have to count registrations.
+    @Column(name = "member_count", nullable = false)
+    @Builder.Default
+    private int memberCount = 0;
+
+    // Invitations that have not been answered yet
+    @Column(name = "pending_count", nullable = false)
+    @Builder.Default
+    private int pendingCount = 0;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    public int getTotalSize() {
+        return memberCount + pendingCount;
+    }
+
+    public boolean isComplete(int minTeamSize) {
+        return memberCount >= minTeamSize;
+    }
+}
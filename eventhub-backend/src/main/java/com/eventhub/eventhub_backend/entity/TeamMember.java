@@ -1,28 +0,0 @@
-package com.eventhub.eventhub_backend.entity;
-
-import jakarta.persistence.*;
-import lombok.*;
-
-@Entity
-@Table(name = "team_members")
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-@Builder
-public class TeamMember {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false)
-    private String name;
-
-    @Column(nullable = false)
-    private String email;
-
-    // Many team members belong to one registration (the leader's registration)
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "registration_id", nullable = false)
-    private Registration registration;
-}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.eventhub.eventhub_backend.entity;
+
+import com.eventhub.eventhub_backend.enums.UploadStatus;
+import com.eventhub.eventhub_backend.enums.UploadTarget;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// An image upload accepted by the API and finished in the background. The owner
+// polls it by id and is notified when it completes or fails.
+@Entity
+@Table(name = "upload_jobs",
+        indexes = @Index(name = "idx_upload_jobs_status_created", columnList = "status, created_at"))
+@Getter @Setter @Builder @NoArgsConstructor @AllArgsConstructor
+public class UploadJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UploadTarget target;
+
+    // Event id for posters and cards, user id for avatars
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @Builder.Default
+    private UploadStatus status = UploadStatus.PENDING;
+
+    @Column(name = "original_filename")
+    private String originalFilename;
+
+    @Column(name = "result_url", length = 1000)
+    private String resultUrl;
+
+    @Column(length = 1000)
+    private String error;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -42,6 +42,9 @@ public class User {
 
     private String profileImageUrl;
 
+    // Small square rendition for comments and host badges; null until rendered
+    private String profileImageThumbUrl;
+
     @Column(nullable = false)
     @Builder.Default
     private boolean deleted = false;
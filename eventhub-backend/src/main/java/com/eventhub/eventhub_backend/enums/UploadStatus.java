@@ -0,0 +1,6 @@
+package com.eventhub.eventhub_backend.enums;
+
+
+public enum UploadStatus {
+    PENDING, PROCESSING, COMPLETED, FAILED
+}
@@ -0,0 +1,6 @@
+package com.eventhub.eventhub_backend.enums;
+
+
+public enum UploadTarget {
+    EVENT_POSTER, EVENT_CARD, USER_AVATAR
+}
@@ -4,17 +4,32 @@ package com.eventhub.eventhub_backend.repository;
 import com.eventhub.eventhub_backend.entity.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @EntityGraph(attributePaths = "user")
     Page<Comment> findByEventIdOrderByCreatedAtDesc(Long eventId, Pageable pageable);
 
+    // Keyset pages of the feed: ids grow with insertion, so id order is posting order
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.event.id = :eventId ORDER BY c.id DESC")
+    List<Comment> findNewestWithUser(@Param("eventId") Long eventId, Pageable pageable);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.event.id = :eventId AND c.id < :beforeId ORDER BY c.id DESC")
+    List<Comment> findOlderWithUser(@Param("eventId") Long eventId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    // Catch-up for live subscribers, oldest first
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.event.id = :eventId AND c.id > :sinceId ORDER BY c.id ASC")
+    List<Comment> findNewerWithUser(@Param("eventId") Long eventId, @Param("sinceId") Long sinceId, Pageable pageable);
+
     boolean existsByUserIdAndEventId(Long userId, Long eventId);
 
     // Hard delete all comments by this user
@@ -0,0 +1,77 @@
+package com.eventhub.eventhub_backend.repository;
+
+import com.eventhub.eventhub_backend.entity.EventDailyStats;
+import com.eventhub.eventhub_backend.entity.EventDailyStatsId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EventDailyStatsRepository extends JpaRepository<EventDailyStats, EventDailyStatsId> {
+
+    @Query("SELECT s FROM EventDailyStats s WHERE s.id.eventId = :eventId ORDER BY s.id.statDate")
+    List<EventDailyStats> findSeriesByEventId(@Param("eventId") Long eventId);
+
+    // Takes the events whose registrations changed since the last run. Changes that
+    // commit after this statement are not seen by it and stay queued for the next run.
+    @Query(value = "DELETE FROM event_daily_stats_dirty RETURNING event_id", nativeQuery = true)
+    List<Long> claimChangedEventIds();
+
+    // Queues every event, for a full rebuild
+    @Modifying
+    @Query(value = """
+            INSERT INTO event_daily_stats_dirty (event_id)
+            SELECT id FROM events
+            ON CONFLICT (event_id) DO NOTHING
+            """, nativeQuery = true)
+    int markAllEventsChanged();
+
+    // Recomputes the daily rows of the given events.
+    // Rows are only rewritten when a count actually moved.
+    @Modifying
+    @Query(value = """
+            INSERT INTO event_daily_stats (event_id, stat_date, registered_count, waitlist_count, updated_at)
+            SELECT r.event_id, CAST(r.registered_at AS date),
+                   COUNT(*) FILTER (WHERE r.status = 'REGISTERED'),
+                   COUNT(*) FILTER (WHERE r.status = 'WAITLIST'),
+                   LOCALTIMESTAMP
+            FROM registrations r
+            WHERE r.event_id IN (:eventIds)
+            GROUP BY r.event_id, CAST(r.registered_at AS date)
+            ON CONFLICT (event_id, stat_date) DO UPDATE
+            SET registered_count = EXCLUDED.registered_count,
+                waitlist_count = EXCLUDED.waitlist_count,
+                updated_at = EXCLUDED.updated_at
+            WHERE event_daily_stats.registered_count <> EXCLUDED.registered_count
+               OR event_daily_stats.waitlist_count <> EXCLUDED.waitlist_count
+            """, nativeQuery = true)
+    int upsertDailyStats(@Param("eventIds") Collection<Long> eventIds);
+
+    // Days whose registrations have all been deleted no longer appear in the GROUP BY above
+    @Modifying
+    @Query(value = """
+            DELETE FROM event_daily_stats s
+            WHERE s.event_id IN (:eventIds)
+              AND NOT EXISTS (SELECT 1 FROM registrations r
+                              WHERE r.event_id = s.event_id AND CAST(r.registered_at AS date) = s.stat_date)
+            """, nativeQuery = true)
+    int deleteEmptyDays(@Param("eventIds") Collection<Long> eventIds);
+
+    // There is no foreign key to events; EventService.deleteEvent removes the rows itself
+    @Modifying
+    @Query("DELETE FROM EventDailyStats s WHERE s.id.eventId = :eventId")
+    void deleteByEventId(@Param("eventId") Long eventId);
+
+    // Rows of events deleted before deleteEvent cleaned up after itself
+    @Modifying
+    @Query(value = """
+            DELETE FROM event_daily_stats s
+            WHERE NOT EXISTS (SELECT 1 FROM events e WHERE e.id = s.event_id)
+            """, nativeQuery = true)
+    int deleteOrphans();
+}
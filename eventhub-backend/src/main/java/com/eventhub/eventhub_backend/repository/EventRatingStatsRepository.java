@@ -0,0 +1,81 @@
+package com.eventhub.eventhub_backend.repository;
+
+import com.eventhub.eventhub_backend.entity.EventRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EventRatingStatsRepository extends JpaRepository<EventRatingStats, Long> {
+
+    // Applies one rating change: oldStars = 0 for a new rating, otherwise the stars it replaces
+    @Modifying
+    @Query(value = """
+            INSERT INTO event_rating_stats (event_id, rating_sum, rating_count,
+                                            stars_1, stars_2, stars_3, stars_4, stars_5, updated_at)
+            VALUES (:eventId, :newStars - :oldStars, CASE WHEN :oldStars = 0 THEN 1 ELSE 0 END,
+                    CAST(:newStars = 1 AS INT) - CAST(:oldStars = 1 AS INT),
+                    CAST(:newStars = 2 AS INT) - CAST(:oldStars = 2 AS INT),
+                    CAST(:newStars = 3 AS INT) - CAST(:oldStars = 3 AS INT),
+                    CAST(:newStars = 4 AS INT) - CAST(:oldStars = 4 AS INT),
+                    CAST(:newStars = 5 AS INT) - CAST(:oldStars = 5 AS INT),
+                    LOCALTIMESTAMP)
+            ON CONFLICT (event_id) DO UPDATE
+            SET rating_sum = event_rating_stats.rating_sum + EXCLUDED.rating_sum,
+                rating_count = event_rating_stats.rating_count + EXCLUDED.rating_count,
+                stars_1 = event_rating_stats.stars_1 + EXCLUDED.stars_1,
+                stars_2 = event_rating_stats.stars_2 + EXCLUDED.stars_2,
+                stars_3 = event_rating_stats.stars_3 + EXCLUDED.stars_3,
+                stars_4 = event_rating_stats.stars_4 + EXCLUDED.stars_4,
+                stars_5 = event_rating_stats.stars_5 + EXCLUDED.stars_5,
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    void applyRatingChange(@Param("eventId") Long eventId,
+                           @Param("oldStars") int oldStars,
+                           @Param("newStars") int newStars);
+
+    // Takes a user's ratings out of the totals; must run before those ratings are deleted
+    @Modifying
+    @Query(value = """
+            UPDATE event_rating_stats s
+            SET rating_sum = s.rating_sum - r.stars,
+                rating_count = s.rating_count - 1,
+                stars_1 = s.stars_1 - CAST(r.stars = 1 AS INT),
+                stars_2 = s.stars_2 - CAST(r.stars = 2 AS INT),
+                stars_3 = s.stars_3 - CAST(r.stars = 3 AS INT),
+                stars_4 = s.stars_4 - CAST(r.stars = 4 AS INT),
+                stars_5 = s.stars_5 - CAST(r.stars = 5 AS INT),
+                updated_at = LOCALTIMESTAMP
+            FROM ratings r
+            WHERE r.user_id = :userId AND r.event_id = s.event_id
+            """, nativeQuery = true)
+    int removeRatingsOfUser(@Param("userId") Long userId);
+
+    // Full recount from ratings (backfill)
+    @Modifying
+    @Query(value = """
+            INSERT INTO event_rating_stats (event_id, rating_sum, rating_count,
+                                            stars_1, stars_2, stars_3, stars_4, stars_5, updated_at)
+            SELECT event_id, SUM(stars), COUNT(*),
+                   COUNT(*) FILTER (WHERE stars = 1),
+                   COUNT(*) FILTER (WHERE stars = 2),
+                   COUNT(*) FILTER (WHERE stars = 3),
+                   COUNT(*) FILTER (WHERE stars = 4),
+                   COUNT(*) FILTER (WHERE stars = 5),
+                   LOCALTIMESTAMP
+            FROM ratings
+            GROUP BY event_id
+            ON CONFLICT (event_id) DO UPDATE
+            SET rating_sum = EXCLUDED.rating_sum,
+                rating_count = EXCLUDED.rating_count,
+                stars_1 = EXCLUDED.stars_1,
+                stars_2 = EXCLUDED.stars_2,
+                stars_3 = EXCLUDED.stars_3,
+                stars_4 = EXCLUDED.stars_4,
+                stars_5 = EXCLUDED.stars_5,
+                updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int rebuildAll();
+}
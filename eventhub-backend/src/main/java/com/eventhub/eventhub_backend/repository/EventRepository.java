@@ -7,12 +7,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.LockModeType;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -48,9 +53,76 @@ public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecific
 
     List<Event> findByHostIdAndStatus(Long hostId, EventStatus status);
 
+    // Row locks taken in id order so concurrent seat allocations cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id IN :ids ORDER BY e.id")
+    List<Event> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Set-based status transitions. RETURNING hands back the touched ids so callers
+    // can run follow-up work without re-reading the rows.
+    @Transactional
+    @Query(value = """
+        UPDATE events SET status = 'COMPLETED', updated_at = LOCALTIMESTAMP
+        WHERE status IN ('ACTIVE','FULL') AND event_end_time < :now
+        RETURNING id
+    """, nativeQuery = true)
+    List<Long> markExpiredEventsCompleted(@Param("now") LocalDateTime now);
+
+    @Transactional
+    @Query(value = """
+        UPDATE events SET status = 'SUSPENDED', updated_at = LOCALTIMESTAMP
+        WHERE host_id = :hostId AND status IN ('ACTIVE','FULL')
+        RETURNING id
+    """, nativeQuery = true)
+    List<Long> suspendActiveEventsByHostId(@Param("hostId") Long hostId);
+
     // Used during account deletion: nullify host FK so the user row can be
     // hard deleted while keeping the SUSPENDED event rows intact for history.
     @Modifying
     @Query("UPDATE Event e SET e.host = null WHERE e.host.id = :hostId")
     void detachHostFromAllEvents(@Param("hostId") Long hostId);
-}
\ No newline at end of file
+
+    // Per-event dashboard figures for every event of a host in one statement: seat usage
+    // from the team-aware counters, ratings, and registrations per day from the rollup.
+    @Query(value = """
+        WITH host_events AS (
+            SELECT id, title, status, event_date, max_participants, created_at
+            FROM events WHERE host_id = :hostId
+        ),
+        seats AS (
+            SELECT r.event_id,
+                   COUNT(*) FILTER (WHERE r.team_id IS NULL AND r.status IN ('REGISTERED', 'INCOMPLETE')) AS solo,
+                   COUNT(*) FILTER (WHERE r.status = 'WAITLIST') AS waitlist
+            FROM registrations r
+            WHERE r.event_id IN (SELECT id FROM host_events)
+            GROUP BY r.event_id
+        ),
+        team_seats AS (
+            SELECT t.event_id, COUNT(*) AS teams
+            FROM teams t
+            WHERE t.event_id IN (SELECT id FROM host_events) AND t.status IN ('REGISTERED', 'INCOMPLETE')
+            GROUP BY t.event_id
+        ),
+        velocity AS (
+            SELECT event_id, SUM(registered_count + waitlist_count) AS registrations
+            FROM event_daily_stats
+            WHERE event_id IN (SELECT id FROM host_events) AND stat_date BETWEEN :from AND :to
+            GROUP BY event_id
+        )
+        SELECT e.id, e.title, e.status, e.event_date, e.max_participants,
+               COALESCE(s.solo, 0) + COALESCE(ts.teams, 0),
+               COALESCE(s.waitlist, 0),
+               CASE WHEN rt.rating_count > 0 THEN CAST(rt.rating_sum AS DOUBLE PRECISION) / rt.rating_count END,
+               COALESCE(rt.rating_count, 0),
+               COALESCE(v.registrations, 0)
+        FROM host_events e
+        LEFT JOIN seats s ON s.event_id = e.id
+        LEFT JOIN team_seats ts ON ts.event_id = e.id
+        LEFT JOIN event_rating_stats rt ON rt.event_id = e.id
+        LEFT JOIN velocity v ON v.event_id = e.id
+        ORDER BY e.created_at DESC
+    """, nativeQuery = true)
+    List<Object[]> findHostAnalytics(@Param("hostId") Long hostId,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+}
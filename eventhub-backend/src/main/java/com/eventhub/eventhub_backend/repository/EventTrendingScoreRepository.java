@@ -0,0 +1,24 @@
+package com.eventhub.eventhub_backend.repository;
+
+import com.eventhub.eventhub_backend.entity.EventTrendingScore;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface EventTrendingScoreRepository extends JpaRepository<EventTrendingScore, Long> {
+
+    @Query("SELECT s FROM EventTrendingScore s WHERE s.logScore >= :minLogScore ORDER BY s.logScore DESC")
+    List<EventTrendingScore> findTopScores(@Param("minLogScore") double minLogScore, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EventTrendingScore s WHERE s.logScore < :minLogScore")
+    int deleteDecayedBelow(@Param("minLogScore") double minLogScore);
+}
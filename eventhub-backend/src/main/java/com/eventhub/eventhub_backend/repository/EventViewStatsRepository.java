@@ -0,0 +1,9 @@
+package com.eventhub.eventhub_backend.repository;
+
+import com.eventhub.eventhub_backend.entity.EventViewStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EventViewStatsRepository extends JpaRepository<EventViewStats, Long> {
+}
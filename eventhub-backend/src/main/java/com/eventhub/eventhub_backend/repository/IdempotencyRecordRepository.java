@@ -0,0 +1,54 @@
+package com.eventhub.eventhub_backend.repository;
+
+import com.eventhub.eventhub_backend.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Claims the key for an in-flight request. An expired row (finished or
+    // abandoned) may be reclaimed. Returns 1 if this caller owns the key.
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO idempotency_keys (idempotency_key, request_path, request_fingerprint, created_at, expires_at)
+            VALUES (:key, :path, :fingerprint, LOCALTIMESTAMP, LOCALTIMESTAMP + make_interval(secs => :lockSeconds))
+            ON CONFLICT (idempotency_key) DO UPDATE
+            SET request_path = EXCLUDED.request_path,
+                request_fingerprint = EXCLUDED.request_fingerprint,
+                status_code = NULL,
+                content_type = NULL,
+                response_body = NULL,
+                created_at = EXCLUDED.created_at,
+                expires_at = EXCLUDED.expires_at
+            WHERE idempotency_keys.expires_at <= LOCALTIMESTAMP
+            """, nativeQuery = true)
+    int tryReserve(@Param("key") String key,
+                   @Param("path") String path,
+                   @Param("fingerprint") String fingerprint,
+                   @Param("lockSeconds") double lockSeconds);
+
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE idempotency_keys
+            SET status_code = :status, content_type = :contentType, response_body = :body,
+                expires_at = LOCALTIMESTAMP + make_interval(secs => :ttlSeconds)
+            WHERE idempotency_key = :key
+            """, nativeQuery = true)
+    int complete(@Param("key") String key,
+                 @Param("status") int status,
+                 @Param("contentType") String contentType,
+                 @Param("body") String body,
+                 @Param("ttlSeconds") double ttlSeconds);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at <= LOCALTIMESTAMP", nativeQuery = true)
+    int purgeExpired();
+}
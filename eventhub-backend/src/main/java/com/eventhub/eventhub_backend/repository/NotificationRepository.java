@@ -11,6 +11,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
@@ -22,6 +24,18 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId")
     void markAllReadByUserId(@Param("userId") Long userId);
 
+    // Same notification for many users in a single INSERT; deleted accounts are skipped
+    @Modifying
+    @Query(value = """
+            INSERT INTO notifications (user_id, title, message, read, created_at)
+            SELECT u.id, :title, :message, false, LOCALTIMESTAMP
+            FROM users u
+            WHERE u.id IN :userIds AND u.deleted = false
+            """, nativeQuery = true)
+    int insertForUsers(@Param("userIds") Collection<Long> userIds,
+                       @Param("title") String title,
+                       @Param("message") String message);
+
     // Hard delete all notifications belonging to the user
     @Modifying
     @Query("DELETE FROM Notification n WHERE n.user.id = :userId")
@@ -0,0 +1,73 @@
+package com.eventhub.eventhub_backend.repository;
+
+import com.eventhub.eventhub_backend.entity.PendingDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PendingDeletionRepository extends JpaRepository<PendingDeletion, Long> {
+
+    // Joins the caller's transaction: if that rolls back, the file is not deleted
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO pending_deletions (url, attempts, next_attempt_at, created_at)
+            VALUES (:url, 0, LOCALTIMESTAMP, LOCALTIMESTAMP)
+            ON CONFLICT (url) DO NOTHING
+            """, nativeQuery = true)
+    void enqueue(@Param("url") String url);
+
+    // The URL is in use again (identical content re-stored at the same address)
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM pending_deletions WHERE url = :url", nativeQuery = true)
+    void cancel(@Param("url") String url);
+
+    // Locks the URL's queue row, if there is one, until the caller commits. Waits for a
+    // worker that has claimed it, after which the row and the file are gone; while we
+    // hold it, workers skip it.
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT id FROM pending_deletions WHERE url = :url FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockByUrl(@Param("url") String url);
+
+    // Moves blobs that stayed unreferenced past the cutoff from the index to the queue.
+    // Row locks make this and StoredBlobRepository.acquire() mutually exclusive.
+    @Modifying
+    @Transactional
+    @Query(value = """
+            WITH gone AS (
+                DELETE FROM stored_blobs
+                WHERE ref_count = 0 AND unreferenced_at < :cutoff
+                RETURNING url
+            )
+            INSERT INTO pending_deletions (url, attempts, next_attempt_at, created_at)
+            SELECT url, 0, LOCALTIMESTAMP, LOCALTIMESTAMP FROM gone
+            ON CONFLICT (url) DO NOTHING
+            """, nativeQuery = true)
+    int enqueueUnreferencedBlobs(@Param("cutoff") LocalDateTime cutoff);
+
+    // Claims due rows for this worker; other nodes skip them instead of waiting.
+    // Must run inside the transaction that later removes or reschedules them.
+    @Query(value = """
+            SELECT * FROM pending_deletions
+            WHERE next_attempt_at <= LOCALTIMESTAMP
+            ORDER BY id
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<PendingDeletion> claimDue(@Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query("DELETE FROM PendingDeletion p WHERE p.id IN :ids")
+    void deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -2,7 +2,9 @@ package com.eventhub.eventhub_backend.repository;
 
 
 import com.eventhub.eventhub_backend.entity.Rating;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,12 +15,10 @@ import java.util.Optional;
 @Repository
 public interface RatingRepository extends JpaRepository<Rating, Long> {
 
-    Optional<Rating> findByUserIdAndEventId(Long userId, Long eventId);
-
-    @Query("SELECT AVG(r.stars) FROM Rating r WHERE r.event.id = :eventId")
-    Double findAverageRatingByEventId(@Param("eventId") Long eventId);
-
-    long countByEventId(Long eventId);
+    // Locked so two concurrent updates by the same user cannot both apply a delta from the same old value
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Rating r WHERE r.user.id = :userId AND r.event.id = :eventId")
+    Optional<Rating> findByUserIdAndEventIdForUpdate(@Param("userId") Long userId, @Param("eventId") Long eventId);
 
     // Hard delete all ratings by this user
     @Modifying
@@ -5,25 +5,54 @@ import com.eventhub.eventhub_backend.enums.RegistrationStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface RegistrationRepository extends JpaRepository<Registration, Long> {
+public interface RegistrationRepository extends JpaRepository<Registration, Long>, JpaSpecificationExecutor<Registration> {
 
-    // ─── NEW: Fetch all registrations for an event (used for capacity counting) ───
-    List<Registration> findByEventId(Long eventId);
+    // Team-aware seat usage: solo registrations plus teams, each team occupying one seat
+    @Query(value = """
+            SELECT (SELECT COUNT(*) FROM registrations r
+                    WHERE r.event_id = :eventId AND r.team_id IS NULL
+                      AND r.status IN ('REGISTERED', 'INCOMPLETE'))
+                 + (SELECT COUNT(*) FROM teams t
+                    WHERE t.event_id = :eventId AND t.status IN ('REGISTERED', 'INCOMPLETE'))
+            """, nativeQuery = true)
+    long countOccupiedSlots(@Param("eventId") Long eventId);
+
+    @Query(value = """
+            SELECT e.id,
+                   (SELECT COUNT(*) FROM registrations r
+                    WHERE r.event_id = e.id AND r.team_id IS NULL
+                      AND r.status IN ('REGISTERED', 'INCOMPLETE'))
+                 + (SELECT COUNT(*) FROM teams t
+                    WHERE t.event_id = e.id AND t.status IN ('REGISTERED', 'INCOMPLETE'))
+            FROM events e
+            WHERE e.id IN (:eventIds)
+            """, nativeQuery = true)
+    List<Object[]> countOccupiedSlotsByEventIds(@Param("eventIds") Collection<Long> eventIds);
 
-    @Query("SELECT r FROM Registration r JOIN FETCH r.user WHERE r.event.id = :eventId ORDER BY r.registeredAt DESC")
+    @Query("SELECT r FROM Registration r JOIN FETCH r.user LEFT JOIN FETCH r.team WHERE r.event.id = :eventId ORDER BY r.registeredAt DESC")
     List<Registration> findByEventIdOrderByRegisteredAtDesc(@Param("eventId") Long eventId);
 
     Optional<Registration> findByUserIdAndEventId(Long userId, Long eventId);
 
+    // Rosters for the teams shown on one attendee page
+    @Query("SELECT r FROM Registration r JOIN FETCH r.user WHERE r.team.id IN :teamIds ORDER BY r.id")
+    List<Registration> findByTeamIdsWithUser(@Param("teamIds") Collection<Long> teamIds);
+
+    @Query("SELECT r.status, COUNT(r) FROM Registration r WHERE r.event.id = :eventId GROUP BY r.status")
+    List<Object[]> countByStatusForEvent(@Param("eventId") Long eventId);
+
     @Query("SELECT COUNT(r) FROM Registration r WHERE r.event.id = :eventId AND r.status = :status")
     long countByEventIdAndStatus(@Param("eventId") Long eventId,
                                  @Param("status") RegistrationStatus status);
@@ -35,6 +64,50 @@ public interface RegistrationRepository extends JpaRepository<Registration, Long
             """)
     List<Registration> findWaitlistByEventIdOrdered(@Param("eventId") Long eventId);
 
+    // Waitlists for several events in one round trip, FIFO within each event
+    @Query("""
+            SELECT r FROM Registration r JOIN FETCH r.user JOIN FETCH r.event
+            WHERE r.event.id IN :eventIds AND r.status = 'WAITLIST'
+            ORDER BY r.event.id, r.registeredAt ASC, r.id ASC
+            """)
+    List<Registration> findWaitlistByEventIdsOrdered(@Param("eventIds") Collection<Long> eventIds);
+
+    // Caller's 1-based place in the waitlist plus the queue length, in promotion
+    // order (a team is one entry). Position is null when the user is not waitlisted.
+    @Query(value = """
+            WITH units AS (
+                SELECT MIN(r.registered_at) AS queued_at,
+                       MIN(r.id) AS first_id,
+                       BOOL_OR(r.user_id = :userId) AS mine
+                FROM registrations r
+                WHERE r.event_id = :eventId AND r.status = 'WAITLIST'
+                GROUP BY COALESCE('t:' || r.team_id, 'u:' || r.id)
+            ), ranked AS (
+                SELECT mine,
+                       ROW_NUMBER() OVER (ORDER BY queued_at, first_id) AS position,
+                       COUNT(*) OVER () AS total
+                FROM units
+            )
+            SELECT MAX(CASE WHEN mine THEN position END), COALESCE(MAX(total), 0)
+            FROM ranked
+            """, nativeQuery = true)
+    List<Object[]> findWaitlistPosition(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Registration r SET r.status = :status WHERE r.id IN :ids")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids,
+                          @Param("status") RegistrationStatus status);
+
+    // Cancels every confirmed seat of a user in one statement and returns the
+    // affected event ids so their waitlists can be promoted as a batch.
+    @Transactional
+    @Query(value = """
+            UPDATE registrations SET status = 'CANCELLED'
+            WHERE user_id = :userId AND status = 'REGISTERED'
+            RETURNING event_id
+            """, nativeQuery = true)
+    List<Long> cancelRegisteredByUserId(@Param("userId") Long userId);
+
     @Query("SELECT r FROM Registration r WHERE r.user.id = :userId ORDER BY r.registeredAt DESC")
     Page<Registration> findByUserId(@Param("userId") Long userId, Pageable pageable);
 
@@ -51,24 +124,71 @@ public interface RegistrationRepository extends JpaRepository<Registration, Long
     List<Registration> findByEventIdAndStatus(@Param("eventId") Long eventId,
                                               @Param("status") RegistrationStatus status);
 
+    // Whole roster of the team the given user belongs to (or is invited to) for the event
+    @Query("""
+            SELECT r FROM Registration r JOIN FETCH r.user JOIN FETCH r.team t
+            WHERE t.id = (SELECT m.team.id FROM Registration m
+                          WHERE m.user.id = :userId AND m.event.id = :eventId)
+            ORDER BY CASE WHEN r.status = 'PENDING_INVITATION' THEN 1 ELSE 0 END, r.registeredAt
+            """)
+    List<Registration> findTeamRosterByMember(@Param("userId") Long userId,
+                                              @Param("eventId") Long eventId);
+
+    @Query("""
+            SELECT r FROM Registration r JOIN FETCH r.user LEFT JOIN FETCH r.team
+            WHERE r.user.id = :userId AND r.event.id = :eventId
+            """)
+    Optional<Registration> findWithTeamByUserIdAndEventId(@Param("userId") Long userId,
+                                                          @Param("eventId") Long eventId);
+
+    // Flips every INCOMPLETE member of a team that just reached its minimum size
+    @Transactional
     @Query(value = """
-            SELECT CAST(r.registered_at AS date) AS day, COUNT(r.id) AS cnt
-            FROM registrations r
-            WHERE r.event_id = :eventId AND r.status = 'REGISTERED'
-            GROUP BY CAST(r.registered_at AS date)
-            ORDER BY CAST(r.registered_at AS date)
+            UPDATE registrations SET status = :status
+            WHERE team_id = :teamId AND status = 'INCOMPLETE'
+            RETURNING user_id
             """, nativeQuery = true)
-    List<Object[]> findDailyRegistrationCounts(@Param("eventId") Long eventId);
+    List<Long> upgradeIncompleteTeamMembers(@Param("teamId") Long teamId,
+                                            @Param("status") String status);
+
+    @Query("SELECT r.user.id FROM Registration r WHERE r.event.id = :eventId AND r.user.id IN :userIds")
+    List<Long> findRegisteredUserIds(@Param("eventId") Long eventId,
+                                     @Param("userIds") Collection<Long> userIds);
 
-    List<Registration> findByEventIdAndTeamName(Long eventId, String teamName);
+    // Like findRegisteredUserIds, but a cancelled registration does not count
+    @Query("SELECT r.user.id FROM Registration r WHERE r.event.id = :eventId AND r.user.id IN :userIds AND r.status <> 'CANCELLED'")
+    List<Long> findActiveRegisteredUserIds(@Param("eventId") Long eventId,
+                                           @Param("userIds") Collection<Long> userIds);
+
+    // All of a team's invitations in a single INSERT, however large the team is
+    @Modifying
+    @Query(value = """
+            INSERT INTO registrations (user_id, event_id, team_id, status, registered_at)
+            SELECT u.id, :eventId, :teamId, 'PENDING_INVITATION', LOCALTIMESTAMP
+            FROM users u
+            WHERE u.id IN :userIds
+            """, nativeQuery = true)
+    int insertTeamInvitations(@Param("eventId") Long eventId,
+                              @Param("teamId") Long teamId,
+                              @Param("userIds") Collection<Long> userIds);
 
     Page<Registration> findByUserIdOrderByRegisteredAtDesc(Long userId, Pageable pageable);
-    // Add this anywhere inside RegistrationRepository
-    boolean existsByEventIdAndTeamName(Long eventId, String teamName);
     @Modifying
     @Query("DELETE FROM Registration r WHERE r.user.id = :userId")
     void deleteAllByUserId(@Param("userId") Long userId);
 
+    // A registered team that dropped below the minimum size goes back to collecting members
+    @Modifying
+    @Query("UPDATE Registration r SET r.status = :to WHERE r.team.id = :teamId AND r.status = :from")
+    int updateTeamStatus(@Param("teamId") Long teamId,
+                         @Param("from") RegistrationStatus from,
+                         @Param("to") RegistrationStatus to);
+
+    // Lets an event's teams be deleted before the cascade removes its registrations
+    @Modifying
+    @Query("UPDATE Registration r SET r.team = null WHERE r.event.id = :eventId AND r.team IS NOT NULL")
+    void unlinkTeamsOfEvent(@Param("eventId") Long eventId);
+
     boolean existsByEventIdAndUserEmailIn(Long eventId, List<String> emails);
 
     boolean existsByEventIdAndUserId(Long eventId, Long userId);
@@ -0,0 +1,44 @@
+package com.eventhub.eventhub_backend.repository;
+
+import com.eventhub.eventhub_backend.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Atomically claims the lease if it is free or expired. Uses the database clock
+    // so that clock skew between nodes cannot produce two holders. Returns 1 on success.
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO scheduler_leases (job_name, locked_by, locked_at, locked_until)
+            VALUES (:jobName, :owner, LOCALTIMESTAMP, LOCALTIMESTAMP + make_interval(secs => :ttlSeconds))
+            ON CONFLICT (job_name) DO UPDATE
+            SET locked_by = EXCLUDED.locked_by,
+                locked_at = EXCLUDED.locked_at,
+                locked_until = EXCLUDED.locked_until
+            WHERE scheduler_leases.locked_until <= LOCALTIMESTAMP
+            """, nativeQuery = true)
+    int tryAcquire(@Param("jobName") String jobName,
+                   @Param("owner") String owner,
+                   @Param("ttlSeconds") double ttlSeconds);
+
+    // Shortens the lease once the job is done, but keeps it for at least
+    // minHoldSeconds after acquisition so a node whose tick fires slightly
+    // later does not re-run the same job in the same period.
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE scheduler_leases
+            SET locked_until = GREATEST(LOCALTIMESTAMP, locked_at + make_interval(secs => :minHoldSeconds))
+            WHERE job_name = :jobName AND locked_by = :owner
+            """, nativeQuery = true)
+    int release(@Param("jobName") String jobName,
+                @Param("owner") String owner,
+                @Param("minHoldSeconds") double minHoldSeconds);
+}
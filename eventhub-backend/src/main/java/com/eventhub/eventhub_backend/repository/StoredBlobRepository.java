@@ -0,0 +1,51 @@
+package com.eventhub.eventhub_backend.repository;
+
+import com.eventhub.eventhub_backend.entity.StoredBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    // Takes a reference on already stored content; empty when the content is new
+    @Transactional
+    @Query(value = """
+            UPDATE stored_blobs SET ref_count = ref_count + 1, unreferenced_at = NULL
+            WHERE content_hash = :hash
+            RETURNING url
+            """, nativeQuery = true)
+    Optional<String> acquire(@Param("hash") String hash);
+
+    // Records freshly stored content with one reference. If another upload of the
+    // same bytes got there first, takes a reference on that one and returns its URL.
+    @Transactional
+    @Query(value = """
+            INSERT INTO stored_blobs (content_hash, url, size_bytes, ref_count, created_at)
+            VALUES (:hash, :url, :size, 1, LOCALTIMESTAMP)
+            ON CONFLICT (content_hash) DO UPDATE
+            SET ref_count = stored_blobs.ref_count + 1, unreferenced_at = NULL
+            RETURNING url
+            """, nativeQuery = true)
+    String register(@Param("hash") String hash, @Param("url") String url, @Param("size") long size);
+
+    // Drops one reference; empty when the URL is not indexed (stored before deduplication)
+    @Transactional
+    @Query(value = """
+            UPDATE stored_blobs
+            SET ref_count = ref_count - 1,
+                unreferenced_at = CASE WHEN ref_count - 1 = 0 THEN LOCALTIMESTAMP ELSE NULL END
+            WHERE url = :url AND ref_count > 0
+            RETURNING ref_count
+            """, nativeQuery = true)
+    Optional<Integer> release(@Param("url") String url);
+
+    @Query("SELECT b.url FROM StoredBlob b WHERE b.url IN :urls")
+    List<String> findIndexedUrls(@Param("urls") Collection<String> urls);
+}
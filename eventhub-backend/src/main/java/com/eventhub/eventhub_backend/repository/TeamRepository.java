@@ -0,0 +1,65 @@
+package com.eventhub.eventhub_backend.repository;
+
+import com.eventhub.eventhub_backend.entity.Team;
+import com.eventhub.eventhub_backend.enums.RegistrationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface TeamRepository extends JpaRepository<Team, Long> {
+
+    boolean existsByEventIdAndName(Long eventId, String name);
+
+    @Modifying
+    @Query("UPDATE Team t SET t.status = :status WHERE t.id IN :ids")
+    int updateStatusByIds(@Param("ids") Collection<Long> ids,
+                          @Param("status") RegistrationStatus status);
+
+    // Used during account deletion: take the user's registrations out of the
+    // team counters before they are cancelled and deleted. A team left without
+    // members is cancelled, so it stops holding a seat; a registered team that
+    // drops below the event's minimum size goes back to INCOMPLETE, together with
+    // the registrations of the members who stay.
+    @Modifying
+    @Query(value = """
+            WITH m AS (
+                SELECT team_id,
+                       COUNT(*) FILTER (WHERE status IN ('REGISTERED', 'WAITLIST', 'INCOMPLETE')) AS members,
+                       COUNT(*) FILTER (WHERE status = 'PENDING_INVITATION') AS pending
+                FROM registrations
+                WHERE user_id = :userId AND team_id IS NOT NULL
+                GROUP BY team_id
+            ), released AS (
+                UPDATE teams t
+                SET member_count = t.member_count - m.members,
+                    pending_count = t.pending_count - m.pending,
+                    status = CASE
+                        WHEN t.member_count - m.members <= 0 THEN 'CANCELLED'
+                        WHEN t.status = 'REGISTERED' AND t.member_count - m.members < COALESCE(e.min_team_size, 1)
+                            THEN 'INCOMPLETE'
+                        ELSE t.status
+                    END
+                FROM m, events e
+                WHERE t.id = m.team_id AND e.id = t.event_id
+                RETURNING t.id, t.status
+            )
+            UPDATE registrations r SET status = 'INCOMPLETE'
+            FROM released
+            WHERE r.team_id = released.id AND released.status = 'INCOMPLETE'
+              AND r.status = 'REGISTERED' AND r.user_id <> :userId
+            """, nativeQuery = true)
+    void releaseMembershipsOfUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Team t SET t.leader = null WHERE t.leader.id = :userId")
+    void detachLeader(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Team t WHERE t.event.id = :eventId")
+    void deleteByEventId(@Param("eventId") Long eventId);
+}
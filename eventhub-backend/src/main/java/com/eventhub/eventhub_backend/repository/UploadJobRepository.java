@@ -0,0 +1,42 @@
+package com.eventhub.eventhub_backend.repository;
+
+import com.eventhub.eventhub_backend.entity.UploadJob;
+import com.eventhub.eventhub_backend.enums.UploadStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface UploadJobRepository extends JpaRepository<UploadJob, Long> {
+
+    Optional<UploadJob> findByIdAndOwnerId(Long id, Long ownerId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadJob j SET j.status = :status WHERE j.id = :id")
+    void updateStatus(@Param("id") Long id, @Param("status") UploadStatus status);
+
+    // Jobs whose node went away mid-upload; their spooled file is gone with it
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE UploadJob j SET j.status = 'FAILED', j.error = :error, j.completedAt = :now
+        WHERE j.status IN :statuses AND j.createdAt < :cutoff
+    """)
+    int failStale(@Param("statuses") Collection<UploadStatus> statuses,
+                  @Param("cutoff") LocalDateTime cutoff,
+                  @Param("error") String error,
+                  @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UploadJob j WHERE j.completedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
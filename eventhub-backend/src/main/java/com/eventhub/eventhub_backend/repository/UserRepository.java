@@ -3,8 +3,11 @@ package com.eventhub.eventhub_backend.repository;
 import com.eventhub.eventhub_backend.entity.User;
 import com.eventhub.eventhub_backend.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +16,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmailAndDeletedFalse(String email);
 
+    List<User> findByEmailInAndDeletedFalse(Collection<String> emails);
+
+    // (id, lower-cased email) pairs only, for bulk paths that must not load whole
+    // entities. Matches case-insensitively; callers pass lower-cased emails.
+    @Query("SELECT u.id, LOWER(u.email) FROM User u WHERE LOWER(u.email) IN :emails AND u.deleted = false")
+    List<Object[]> findIdAndLowerEmailByLowerEmailIn(@Param("emails") Collection<String> emails);
+
     // Used by hardDeleteAccountByEmail — finds regardless of deleted flag
     Optional<User> findByEmail(String email);
 
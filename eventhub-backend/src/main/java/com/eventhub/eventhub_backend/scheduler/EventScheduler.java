@@ -5,13 +5,16 @@ import com.eventhub.eventhub_backend.entity.Registration;
 import com.eventhub.eventhub_backend.enums.RegistrationStatus;
 import com.eventhub.eventhub_backend.repository.EventRepository;
 import com.eventhub.eventhub_backend.repository.RegistrationRepository;
+import com.eventhub.eventhub_backend.service.AnalyticsRollupService;
 import com.eventhub.eventhub_backend.service.EmailService;
 import com.eventhub.eventhub_backend.service.EventService;
+import com.eventhub.eventhub_backend.service.SchedulerLeaseService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -24,10 +27,18 @@ public class EventScheduler {
     private final RegistrationRepository registrationRepository;
     private final EmailService emailService;
     private final EventService eventService;
+    private final SchedulerLeaseService leaseService;
+    private final AnalyticsRollupService analyticsRollupService;
 
+    // Every instance fires these crons; the lease makes sure only one of them does the work per tick.
     // Set 'app.scheduled.reminder-cron=0 * * * * *' in application.properties for 1-minute testing
     @Scheduled(cron = "${app.scheduled.reminder-cron}")
     public void sendEventReminders() {
+        leaseService.runExclusively("sendEventReminders",
+                Duration.ofMinutes(5), Duration.ofSeconds(30), this::runEventReminders);
+    }
+
+    private void runEventReminders() {
         log.info("Checking for upcoming event reminders...");
         LocalDateTime now = LocalDateTime.now();
 
@@ -79,7 +90,16 @@ public class EventScheduler {
 
     @Scheduled(cron = "0 0 * * * *") // Runs every hour
     public void markCompletedEvents() {
-        log.info("System Task: Updating expired events to COMPLETED status");
-        eventService.markExpiredEventsCompleted();
+        leaseService.runExclusively("markCompletedEvents",
+                Duration.ofMinutes(30), Duration.ofMinutes(5), () -> {
+                    log.info("System Task: Updating expired events to COMPLETED status");
+                    eventService.markExpiredEventsCompleted();
+                });
+    }
+
+    @Scheduled(cron = "0 * * * * *") // Runs every minute
+    public void refreshAnalyticsRollup() {
+        leaseService.runExclusively("refreshAnalyticsRollup",
+                Duration.ofMinutes(5), Duration.ofSeconds(30), analyticsRollupService::refreshChangedEvents);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,169 @@
+package com.eventhub.eventhub_backend.security;
+
+import com.eventhub.eventhub_backend.dto.response.ApiResponse;
+import com.eventhub.eventhub_backend.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+// Answers retried registration/team/rating requests that carry an Idempotency-Key
+// with the stored response, before they reach the controllers.
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final Pattern IDEMPOTENT_PATHS =
+            Pattern.compile("^/events/\\d+/(register|team/accept|team/add|rating)$");
+
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !StringUtils.hasText(request.getHeader(HEADER))
+                || !IDEMPOTENT_PATHS.matcher(request.getServletPath()).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String clientKey = request.getHeader(HEADER).trim();
+        if (auth == null || !auth.isAuthenticated() || clientKey.length() > MAX_KEY_LENGTH) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // Keys are scoped to the caller so two users can never collide
+        String key = auth.getName() + "|" + clientKey;
+        String requestPath = request.getServletPath();
+
+        // The body is read up front so a reused key can be checked against what it was first sent with
+        BufferedBodyRequest buffered = new BufferedBodyRequest(request);
+        String fingerprint = IdempotencyService.fingerprint(request.getMethod(), buffered.body);
+
+        IdempotencyService.Decision decision = idempotencyService.begin(key, requestPath, fingerprint);
+        switch (decision.outcome()) {
+            case REPLAY -> {
+                IdempotencyService.StoredResponse stored = decision.response();
+                response.setStatus(stored.status());
+                if (stored.contentType() != null) response.setContentType(stored.contentType());
+                response.setHeader(REPLAYED_HEADER, "true");
+                response.getOutputStream().write(stored.body());
+                return;
+            }
+            case IN_PROGRESS -> {
+                writeError(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still being processed");
+                return;
+            }
+            case KEY_REUSED -> {
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, "This Idempotency-Key was already used for a different request");
+                return;
+            }
+            case PROCEED -> { }
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(buffered, wrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            idempotencyService.abandon(key);
+            throw e;
+        }
+
+        // Client errors are final and safe to replay; server errors are retried for real
+        if (wrapper.getStatus() < 500) {
+            idempotencyService.complete(key, requestPath, fingerprint, wrapper.getStatus(),
+                    wrapper.getContentType(), wrapper.getContentAsByteArray());
+        } else {
+            idempotencyService.abandon(key);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(message));
+    }
+
+    // Serves the already-read body to the controllers
+    private static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.repository.EventDailyStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Keeps event_daily_stats in step with registrations. A trigger on registrations
+ * queues every event whose registrations change (see DataBackfillRunner), so each
+ * run recomputes only those events instead of every open one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsRollupService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final EventDailyStatsRepository dailyStatsRepository;
+
+    // Called every minute; only events whose registrations changed since the last run
+    @Transactional
+    public void refreshChangedEvents() {
+        // A failed run rolls the claim back, so those events are retried next time
+        List<Long> eventIds = dailyStatsRepository.claimChangedEventIds();
+        if (eventIds.isEmpty()) return;
+
+        int upserted = 0;
+        int removed = 0;
+        for (int from = 0; from < eventIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = eventIds.subList(from, Math.min(from + CHUNK_SIZE, eventIds.size()));
+            upserted += dailyStatsRepository.upsertDailyStats(chunk);
+            removed += dailyStatsRepository.deleteEmptyDays(chunk);
+        }
+        log.debug("Analytics rollup for {} events: {} daily rows updated, {} removed",
+                eventIds.size(), upserted, removed);
+    }
+
+    // Backfill: recompute history for every event and drop rows of deleted ones
+    @Transactional
+    public void rebuildAll() {
+        dailyStatsRepository.deleteOrphans();
+        dailyStatsRepository.markAllEventsChanged();
+        refreshChangedEvents();
+    }
+}
@@ -0,0 +1,197 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.dto.response.AttendeeResponse;
+import com.eventhub.eventhub_backend.entity.Event;
+import com.eventhub.eventhub_backend.enums.RegistrationStatus;
+import com.eventhub.eventhub_backend.exception.BusinessException;
+import com.eventhub.eventhub_backend.exception.ResourceNotFoundException;
+import com.eventhub.eventhub_backend.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams an event's attendee list straight from a server-side cursor to the
+ * response. Rows are fetched in pages of a fixed size and written as they arrive,
+ * so memory use does not grow with the number of attendees. Team rosters are
+ * aggregated once per team in the same statement instead of per row.
+ */
+@Service
+@Slf4j
+public class AttendeeExportService {
+
+    public enum Format { CSV, JSONL }
+
+    // Rosters are aggregated per team up front; only the leader's row carries them
+    private static final String EXPORT_QUERY = """
+            WITH rosters AS (
+                SELECT m.team_id,
+                       ARRAY_AGG(m.user_id ORDER BY m.id) AS member_ids,
+                       ARRAY_AGG(mu.name ORDER BY m.id) AS member_names,
+                       ARRAY_AGG(mu.email ORDER BY m.id) AS member_emails
+                FROM registrations m
+                JOIN users mu ON mu.id = m.user_id
+                WHERE m.event_id = ? AND m.team_id IS NOT NULL
+                GROUP BY m.team_id
+            )
+            SELECT u.id AS user_id, u.name, u.email, u.course, u.batch,
+                   r.status, r.registered_at, t.name AS team_name,
+                   CASE WHEN t.leader_id = r.user_id THEN ro.member_ids END AS member_ids,
+                   CASE WHEN t.leader_id = r.user_id THEN ro.member_names END AS member_names,
+                   CASE WHEN t.leader_id = r.user_id THEN ro.member_emails END AS member_emails
+            FROM registrations r
+            JOIN users u ON u.id = r.user_id
+            LEFT JOIN teams t ON t.id = r.team_id
+            LEFT JOIN rosters ro ON ro.team_id = r.team_id
+            WHERE r.event_id = ?
+            ORDER BY r.registered_at DESC, r.id DESC
+            """;
+
+    private static final String CSV_HEADER = "Name,Email,Course,Batch,Status,Registered At,Team,Teammates\n";
+
+    private final EventRepository eventRepository;
+    private final EventService eventService;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTx;
+
+    public AttendeeExportService(EventRepository eventRepository,
+                                 EventService eventService,
+                                 ObjectMapper objectMapper,
+                                 DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.eventRepository = eventRepository;
+        this.eventService = eventService;
+        this.objectMapper = objectMapper;
+
+        // PostgreSQL only uses a cursor (instead of buffering the whole result)
+        // when a fetch size is set and the statement runs inside a transaction
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    public Event getExportableEvent(Long eventId, Long hostId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+        eventService.verifyHostOwnership(event, hostId);
+        return event;
+    }
+
+    public static Format parseFormat(String format) {
+        try {
+            return Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException("Unsupported export format: " + format + ". Use csv or jsonl.");
+        }
+    }
+
+    public StreamingResponseBody export(Long eventId, Format format) {
+        return outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (format == Format.CSV) writer.write(CSV_HEADER);
+
+            try {
+                readOnlyTx.executeWithoutResult(status ->
+                        cursorTemplate.query(EXPORT_QUERY, rs -> {
+                            try {
+                                writeRow(writer, format, mapRow(rs));
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }, eventId, eventId));
+            } catch (UncheckedIOException e) {
+                // Usually the client went away mid-download
+                log.debug("Attendee export for event {} aborted: {}", eventId, e.getMessage());
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private AttendeeResponse mapRow(ResultSet rs) throws SQLException {
+        long userId = rs.getLong("user_id");
+        Timestamp registeredAt = rs.getTimestamp("registered_at");
+
+        return AttendeeResponse.builder()
+                .userId(userId)
+                .name(rs.getString("name"))
+                .email(rs.getString("email"))
+                .course(rs.getString("course"))
+                .batch(rs.getString("batch"))
+                .status(RegistrationStatus.valueOf(rs.getString("status")))
+                .registeredAt(registeredAt != null ? registeredAt.toLocalDateTime() : null)
+                .teamName(rs.getString("team_name"))
+                .teammates(readTeammates(rs, userId))
+                .build();
+    }
+
+    private List<AttendeeResponse.TeamMemberResponse> readTeammates(ResultSet rs, long leaderId) throws SQLException {
+        Array ids = rs.getArray("member_ids");
+        if (ids == null) return List.of();
+
+        Object[] memberIds = (Object[]) ids.getArray();
+        Object[] names = (Object[]) rs.getArray("member_names").getArray();
+        Object[] emails = (Object[]) rs.getArray("member_emails").getArray();
+
+        List<AttendeeResponse.TeamMemberResponse> teammates = new ArrayList<>(memberIds.length);
+        for (int i = 0; i < memberIds.length; i++) {
+            if (((Number) memberIds[i]).longValue() == leaderId) continue;
+            teammates.add(AttendeeResponse.TeamMemberResponse.builder()
+                    .name((String) names[i])
+                    .email((String) emails[i])
+                    .build());
+        }
+        return teammates;
+    }
+
+    private void writeRow(Writer writer, Format format, AttendeeResponse row) throws IOException {
+        if (format == Format.JSONL) {
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+            return;
+        }
+
+        String teammates = String.join("; ", row.getTeammates().stream()
+                .map(tm -> tm.getName() + " <" + tm.getEmail() + ">")
+                .toList());
+
+        writer.write(String.join(",",
+                csv(row.getName()), csv(row.getEmail()), csv(row.getCourse()), csv(row.getBatch()),
+                csv(row.getStatus().name()),
+                csv(row.getRegisteredAt() != null ? row.getRegisteredAt().toString() : null),
+                csv(row.getTeamName()), csv(teammates)));
+        writer.write('\n');
+    }
+
+    // Quotes fields that need it and defuses values a spreadsheet would run as formulas
+    private static String csv(String value) {
+        if (value == null || value.isEmpty()) return "";
+        if ("=+-@".indexOf(value.charAt(0)) >= 0) value = "'" + value;
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
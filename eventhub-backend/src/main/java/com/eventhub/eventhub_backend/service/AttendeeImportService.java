@@ -0,0 +1,249 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.dto.response.AttendeeImportResponse;
+import com.eventhub.eventhub_backend.dto.response.AttendeeImportResponse.Outcome;
+import com.eventhub.eventhub_backend.dto.response.AttendeeImportResponse.RowResult;
+import com.eventhub.eventhub_backend.entity.Event;
+import com.eventhub.eventhub_backend.enums.EventStatus;
+import com.eventhub.eventhub_backend.enums.RegistrationStatus;
+import com.eventhub.eventhub_backend.exception.BusinessException;
+import com.eventhub.eventhub_backend.exception.ResourceNotFoundException;
+import com.eventhub.eventhub_backend.repository.EventRepository;
+import com.eventhub.eventhub_backend.repository.RegistrationRepository;
+import com.eventhub.eventhub_backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Registers a host-supplied CSV of student emails for a solo event. The file is
+ * streamed and processed in fixed-size chunks: one IN query resolves the chunk's
+ * users, one query finds who is already registered, and the new registrations go
+ * out as a single JDBC batch. Seats are handed out with the same rule as
+ * self-registration, in file order, against one occupied-slot count taken under
+ * the event lock. EventService takes the same lock before allocating a seat, so
+ * that count stays accurate for the whole import. Emails match case-insensitively,
+ * and a student whose earlier registration was cancelled is registered again.
+ */
+@Service
+@Slf4j
+public class AttendeeImportService {
+
+    // A cancelled row is reused in place; any other existing row is left alone and
+    // reports an update count of 0
+    private static final String INSERT_REGISTRATION = """
+            INSERT INTO registrations (user_id, event_id, status, registered_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (user_id, event_id) DO UPDATE
+                SET status = EXCLUDED.status, registered_at = EXCLUDED.registered_at, team_id = NULL
+                WHERE registrations.status = 'CANCELLED'
+            """;
+
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final UserRepository userRepository;
+    private final EventService eventService;
+    private final NotificationService notificationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int maxRows;
+
+    public AttendeeImportService(EventRepository eventRepository,
+                                 RegistrationRepository registrationRepository,
+                                 UserRepository userRepository,
+                                 EventService eventService,
+                                 NotificationService notificationService,
+                                 JdbcTemplate jdbcTemplate,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${app.import.chunk-size:500}") int chunkSize,
+                                 @Value("${app.import.max-rows:20000}") int maxRows) {
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+        this.userRepository = userRepository;
+        this.eventService = eventService;
+        this.notificationService = notificationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    // email is lower-cased, for matching and for duplicate detection
+    private record CsvRow(int row, String email) {}
+
+    // Mutable state carried across chunks
+    private static class ImportState {
+        long occupied;
+        final Set<String> seenEmails = new HashSet<>();
+        final List<RowResult> results = new ArrayList<>();
+        int registered;
+        int waitlisted;
+    }
+
+    @Transactional
+    public AttendeeImportResponse importAttendees(Long eventId, Long hostId, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new BusinessException("Please upload a CSV file with one email per row");
+        }
+
+        // Self-registrations take the same lock, so they cannot take the seats being handed out
+        Event event = eventRepository.findAllByIdForUpdate(List.of(eventId)).stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+        eventService.verifyHostOwnership(event, hostId);
+
+        if (!event.isRequiresRegistration()) {
+            throw new BusinessException("This is a Crowd Event. No registration is required!");
+        }
+        if (event.getStatus() == EventStatus.SUSPENDED || event.getStatus() == EventStatus.COMPLETED) {
+            throw new BusinessException("Cannot register for this event");
+        }
+        if (event.getMinTeamSize() != null && event.getMinTeamSize() > 1) {
+            throw new BusinessException("Bulk import is only available for events with individual registration");
+        }
+
+        ImportState state = new ImportState();
+        state.occupied = registrationRepository.countOccupiedSlots(eventId);
+
+        int rowNumber = 0;
+        List<CsvRow> chunk = new ArrayList<>(chunkSize);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                rowNumber++;
+                String email = firstColumn(line);
+                if (email.isEmpty() || (rowNumber == 1 && email.equalsIgnoreCase("email"))) continue;
+
+                if (rowNumber > maxRows) {
+                    throw new BusinessException("CSV import is limited to " + maxRows + " rows");
+                }
+
+                chunk.add(new CsvRow(rowNumber, email.toLowerCase(Locale.ROOT)));
+                if (chunk.size() == chunkSize) {
+                    processChunk(event, chunk, state);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new BusinessException("Could not read the uploaded CSV file");
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(event, chunk, state);
+        }
+
+        event.setStatus(state.occupied >= event.getMaxParticipants() ? EventStatus.FULL : EventStatus.ACTIVE);
+        eventRepository.save(event);
+
+        eventPublisher.publishEvent(new RegistrationActivity(eventId, RegistrationActivity.Kind.REGISTERED, state.registered));
+        eventPublisher.publishEvent(new RegistrationActivity(eventId, RegistrationActivity.Kind.WAITLISTED, state.waitlisted));
+
+        log.info("Imported attendees for event {}: {} registered, {} waitlisted, {} skipped",
+                eventId, state.registered, state.waitlisted,
+                state.results.size() - state.registered - state.waitlisted);
+
+        return AttendeeImportResponse.builder()
+                .eventId(eventId)
+                .totalRows(state.results.size())
+                .registered(state.registered)
+                .waitlisted(state.waitlisted)
+                .skipped(state.results.size() - state.registered - state.waitlisted)
+                .rows(state.results)
+                .build();
+    }
+
+    private void processChunk(Event event, List<CsvRow> chunk, ImportState state) {
+        // Rows that can be rejected without touching the database
+        Map<CsvRow, Outcome> outcomes = new LinkedHashMap<>();
+        Set<String> lookup = new HashSet<>();
+        for (CsvRow row : chunk) {
+            if (!row.email().contains("@")) {
+                outcomes.put(row, Outcome.INVALID_EMAIL);
+            } else if (!state.seenEmails.add(row.email())) {
+                outcomes.put(row, Outcome.DUPLICATE_IN_FILE);
+            } else {
+                outcomes.put(row, null);
+                lookup.add(row.email());
+            }
+        }
+
+        Map<String, Long> userIdsByEmail = new HashMap<>();
+        if (!lookup.isEmpty()) {
+            for (Object[] pair : userRepository.findIdAndLowerEmailByLowerEmailIn(lookup)) {
+                userIdsByEmail.put((String) pair[1], ((Number) pair[0]).longValue());
+            }
+        }
+
+        Set<Long> alreadyRegistered = userIdsByEmail.isEmpty() ? Set.of()
+                : new HashSet<>(registrationRepository.findActiveRegisteredUserIds(event.getId(), userIdsByEmail.values()));
+
+        // Hand out seats in file order
+        List<CsvRow> toInsert = new ArrayList<>();
+        List<Object[]> batchArgs = new ArrayList<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Map.Entry<CsvRow, Outcome> entry : outcomes.entrySet()) {
+            if (entry.getValue() != null) continue;
+
+            CsvRow row = entry.getKey();
+            Long userId = userIdsByEmail.get(row.email());
+            if (userId == null) {
+                entry.setValue(Outcome.USER_NOT_FOUND);
+            } else if (alreadyRegistered.contains(userId)) {
+                entry.setValue(Outcome.ALREADY_REGISTERED);
+            } else {
+                RegistrationStatus status = state.occupied < event.getMaxParticipants()
+                        ? RegistrationStatus.REGISTERED : RegistrationStatus.WAITLIST;
+                if (status == RegistrationStatus.REGISTERED) state.occupied++;
+
+                entry.setValue(status == RegistrationStatus.REGISTERED ? Outcome.REGISTERED : Outcome.WAITLIST);
+                toInsert.add(row);
+                batchArgs.add(new Object[]{userId, event.getId(), status.name(), now});
+            }
+        }
+
+        if (!batchArgs.isEmpty()) {
+            int[] counts = jdbcTemplate.batchUpdate(INSERT_REGISTRATION, batchArgs);
+            for (int i = 0; i < counts.length; i++) {
+                // Defensive: the row was already active after all
+                if (counts[i] == 0) {
+                    CsvRow row = toInsert.get(i);
+                    if (outcomes.get(row) == Outcome.REGISTERED) state.occupied--;
+                    outcomes.put(row, Outcome.ALREADY_REGISTERED);
+                }
+            }
+        }
+
+        List<Long> registeredIds = new ArrayList<>();
+        List<Long> waitlistedIds = new ArrayList<>();
+        outcomes.forEach((row, outcome) -> {
+            state.results.add(RowResult.builder().row(row.row()).email(row.email()).outcome(outcome).build());
+            if (outcome == Outcome.REGISTERED) registeredIds.add(userIdsByEmail.get(row.email()));
+            if (outcome == Outcome.WAITLIST) waitlistedIds.add(userIdsByEmail.get(row.email()));
+        });
+        state.registered += registeredIds.size();
+        state.waitlisted += waitlistedIds.size();
+
+        notificationService.createNotifications(registeredIds, "You're Registered! 🎟️",
+                "The host registered you for: " + event.getTitle());
+        notificationService.createNotifications(waitlistedIds, "Added to Waitlist ⏳",
+                "The host added you to the waitlist for: " + event.getTitle());
+    }
+
+    // Only the first column is read; quotes and surrounding spaces are ignored
+    private static String firstColumn(String line) {
+        int comma = line.indexOf(',');
+        String cell = comma >= 0 ? line.substring(0, comma) : line;
+        return cell.replace("\"", "").replace("\uFEFF", "").trim();
+    }
+}
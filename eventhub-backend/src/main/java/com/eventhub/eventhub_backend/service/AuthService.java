@@ -8,7 +8,6 @@ import com.eventhub.eventhub_backend.entity.HostRequest;
 import com.eventhub.eventhub_backend.entity.User;
 import com.eventhub.eventhub_backend.entity.VerificationToken;
 import com.eventhub.eventhub_backend.enums.HostRequestStatus;
-import com.eventhub.eventhub_backend.enums.RegistrationStatus;
 import com.eventhub.eventhub_backend.enums.Role;
 import com.eventhub.eventhub_backend.exception.BusinessException;
 import com.eventhub.eventhub_backend.exception.ResourceNotFoundException;
@@ -24,8 +23,10 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
 
@@ -41,37 +42,45 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final UserDetailsService userDetailsService;
     private final RegistrationRepository registrationRepository;
+    private final TeamRepository teamRepository;
     private final NotificationRepository notificationRepository;
     private final CommentRepository commentRepository;
+    private final RecentCommentsCache recentComments;
     private final RatingRepository ratingRepository;
+    private final EventRatingStatsRepository ratingStatsRepository;
     private final EventService eventService;
+    private final WaitlistPromotionService waitlistPromotionService;
     private final FileStorageService fileStorageService;
     private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
 
     // ─── Auth ───────────────────────────────────────────────────────────────────
 
-    @Transactional
+    // Not @Transactional: the token is committed first so the SMTP call holds no connection
     public String register(AuthRequests.Register request) {
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new BusinessException("Email is already registered");
-        }
+        String otp = transactionTemplate.execute(status -> {
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw new BusinessException("Email is already registered");
+            }
+
+            // Restore random 6-digit OTP generation
+            String code = String.format("%06d", new Random().nextInt(999999));
+
+            // Save to temporary table instead of User table
+            tokenRepository.deleteByEmail(request.getEmail());
+            tokenRepository.save(VerificationToken.builder()
+                    .email(request.getEmail())
+                    .name(request.getName())
+                    .course(request.getCourse()) // Added course
+                    .batch(request.getBatch())   // Added batch
+                    .password(passwordEncoder.encode(request.getPassword()))
+                    .otpCode(code)
+                    .expiryDate(LocalDateTime.now().plusMinutes(15))
+                    .build());
+            return code;
+        });
 
-        // Restore random 6-digit OTP generation
-        String otp = String.format("%06d", new Random().nextInt(999999));
-
-        // Save to temporary table instead of User table
-        tokenRepository.deleteByEmail(request.getEmail());
-        tokenRepository.save(VerificationToken.builder()
-                .email(request.getEmail())
-                .name(request.getName())
-                .course(request.getCourse()) // Added course
-                .batch(request.getBatch())   // Added batch
-                .password(passwordEncoder.encode(request.getPassword()))
-                .otpCode(otp)
-                .expiryDate(LocalDateTime.now().plusMinutes(15))
-                .build());
-
-        // Restore real email sending
+        // Sent after the commit; a failure still reaches the caller as a 503
         emailService.sendOtpEmail(request.getEmail(), otp);
         return "OTP sent to your email. Verify to complete registration.";
     }
@@ -137,10 +146,26 @@ public class AuthService {
         if (user.getProfileImageUrl() != null) {
             fileStorageService.deleteFile(user.getProfileImageUrl());
         }
+        // The old thumbnail shows the old picture; the new one is rendered after upload
+        if (user.getProfileImageThumbUrl() != null) {
+            fileStorageService.deleteFile(user.getProfileImageThumbUrl());
+        }
         user.setProfileImageUrl(imageUrl);
+        user.setProfileImageThumbUrl(null);
         return toUserResponse(userRepository.save(user));
     }
 
+    @Transactional
+    public void updateProfileImageThumb(Long userId, String thumbUrl) {
+        User user = findActiveUser(userId);
+        // Released even when it equals thumbUrl: storing that took a reference of its own
+        if (user.getProfileImageThumbUrl() != null) {
+            fileStorageService.deleteFile(user.getProfileImageThumbUrl());
+        }
+        user.setProfileImageThumbUrl(thumbUrl);
+        userRepository.save(user);
+    }
+
     @Transactional
     public void changePassword(Long userId, AuthRequests.ChangePassword request) {
         User user = findActiveUser(userId);
@@ -180,31 +205,34 @@ public class AuthService {
     }
     // ─── Email Change Flow ──────────────────────────────────────────────────────
 
-    @Transactional
+    // Not @Transactional, see register
     public String requestEmailChange(Long userId, AuthRequests.RequestEmailChange request) {
-        User user = findActiveUser(userId);
         String newEmail = request.getNewEmail().trim();
+        String otp = transactionTemplate.execute(status -> {
+            User user = findActiveUser(userId);
 
-        if (user.getEmail().equalsIgnoreCase(newEmail)) {
-            throw new BusinessException("This is already your current email address.");
-        }
+            if (user.getEmail().equalsIgnoreCase(newEmail)) {
+                throw new BusinessException("This is already your current email address.");
+            }
 
-        if (userRepository.existsByEmail(newEmail)) {
-            throw new BusinessException("This email is already in use by another account.");
-        }
+            if (userRepository.existsByEmail(newEmail)) {
+                throw new BusinessException("This email is already in use by another account.");
+            }
 
-        // Generate OTP
-        String otp = String.format("%06d", new Random().nextInt(999999));
+            // Generate OTP
+            String code = String.format("%06d", new Random().nextInt(999999));
 
-        // Save OTP to the temporary token table using the NEW email
-        tokenRepository.deleteByEmail(newEmail);
-        tokenRepository.save(VerificationToken.builder()
-                .email(newEmail)
-                .otpCode(otp)
-                .expiryDate(LocalDateTime.now().plusMinutes(15))
-                .build());
+            // Save OTP to the temporary token table using the NEW email
+            tokenRepository.deleteByEmail(newEmail);
+            tokenRepository.save(VerificationToken.builder()
+                    .email(newEmail)
+                    .otpCode(code)
+                    .expiryDate(LocalDateTime.now().plusMinutes(15))
+                    .build());
+            return code;
+        });
 
-        // Send the OTP to the NEW email
+        // Send the OTP to the NEW email, after the commit
         emailService.sendOtpEmail(newEmail, otp);
         return "OTP sent to your new email address. Please verify to complete the change.";
     }
@@ -324,14 +352,13 @@ public class AuthService {
     public void deleteAccount(Long userId) {
         User user = findActiveUser(userId);
 
-        // Cancel REGISTERED entries and trigger waitlist promotions
-        registrationRepository
-                .findByUserIdAndStatus(userId, RegistrationStatus.REGISTERED)
-                .forEach(reg -> {
-                    reg.setStatus(RegistrationStatus.CANCELLED);
-                    registrationRepository.save(reg);
-                    eventService.promoteFromWaitlist(reg.getEvent());
-                });
+        // Leave any teams first so their member counters stay accurate
+        teamRepository.releaseMembershipsOfUser(userId);
+        teamRepository.detachLeader(userId);
+
+        // Cancel REGISTERED entries in one statement, then promote every affected waitlist as a batch
+        List<Long> cancelledEventIds = registrationRepository.cancelRegisteredByUserId(userId);
+        waitlistPromotionService.promote(new HashSet<>(cancelledEventIds));
 
         // Suspend hosted events — keep rows for other users' registration history
         eventService.suspendHostEvents(userId);
@@ -342,6 +369,8 @@ public class AuthService {
         // Delete user's own activity — child tables first
         notificationRepository.deleteAllByUserId(userId);
         commentRepository.deleteAllByUserId(userId);
+        recentComments.evictAll();
+        ratingStatsRepository.removeRatingsOfUser(userId);
         ratingRepository.deleteAllByUserId(userId);
         registrationRepository.deleteAllByUserId(userId);
         hostRequestRepository.deleteAllByUserId(userId);
@@ -350,6 +379,9 @@ public class AuthService {
         if (user.getProfileImageUrl() != null) {
             fileStorageService.deleteFile(user.getProfileImageUrl());
         }
+        if (user.getProfileImageThumbUrl() != null) {
+            fileStorageService.deleteFile(user.getProfileImageThumbUrl());
+        }
 
         // Hard delete — email is free to reuse
         userRepository.delete(user);
@@ -362,7 +394,14 @@ public class AuthService {
         userRepository.findByEmail(email).ifPresent(user -> {
             notificationRepository.deleteAllByUserId(user.getId());
             commentRepository.deleteAllByUserId(user.getId());
+            recentComments.evictAll();
+            ratingStatsRepository.removeRatingsOfUser(user.getId());
             ratingRepository.deleteAllByUserId(user.getId());
+            teamRepository.releaseMembershipsOfUser(user.getId());
+            teamRepository.detachLeader(user.getId());
+            // Seats freed by the user (or by a team they emptied) go to the waitlist
+            List<Long> cancelledEventIds = registrationRepository.cancelRegisteredByUserId(user.getId());
+            waitlistPromotionService.promote(new HashSet<>(cancelledEventIds));
             registrationRepository.deleteAllByUserId(user.getId());
             hostRequestRepository.deleteAllByUserId(user.getId());
             eventService.detachHostFromEvents(user.getId());
@@ -388,6 +427,7 @@ public class AuthService {
                 .course(user.getCourse()) // Added course
                 .batch(user.getBatch())   // Added batch
                 .profileImageUrl(user.getProfileImageUrl())
+                .profileImageThumbUrl(user.getProfileImageThumbUrl())
                 .build();
     }
 
@@ -400,6 +440,7 @@ public class AuthService {
                 .course(user.getCourse()) // Added course
                 .batch(user.getBatch())   // Added batch
                 .profileImageUrl(user.getProfileImageUrl())
+                .profileImageThumbUrl(user.getProfileImageThumbUrl())
                 .createdAt(user.getCreatedAt())
                 .build();
     }
@@ -419,24 +460,27 @@ public class AuthService {
 
     // ─── Forgot Password Flow ───────────────────────────────────────────────────
 
-    @Transactional
+    // Not @Transactional, see register
     public String initiateForgotPassword(String email) {
-        // Only send OTP if user actually exists in the main users table
-        User user = userRepository.findByEmailAndDeletedFalse(email)
-                .orElseThrow(() -> new ResourceNotFoundException("No account found with this email"));
-
-        // Restore random 6-digit OTP generation
-        String otp = String.format("%06d", new Random().nextInt(999999));
-
-        // Save OTP to the temporary token table
-        tokenRepository.deleteByEmail(email);
-        tokenRepository.save(VerificationToken.builder()
-                .email(email)
-                .otpCode(otp)
-                .expiryDate(LocalDateTime.now().plusMinutes(10))
-                .build());
+        String otp = transactionTemplate.execute(status -> {
+            // Only send OTP if user actually exists in the main users table
+            userRepository.findByEmailAndDeletedFalse(email)
+                    .orElseThrow(() -> new ResourceNotFoundException("No account found with this email"));
+
+            // Restore random 6-digit OTP generation
+            String code = String.format("%06d", new Random().nextInt(999999));
+
+            // Save OTP to the temporary token table
+            tokenRepository.deleteByEmail(email);
+            tokenRepository.save(VerificationToken.builder()
+                    .email(email)
+                    .otpCode(code)
+                    .expiryDate(LocalDateTime.now().plusMinutes(10))
+                    .build());
+            return code;
+        });
 
-        // Restore real email sending
+        // Sent after the commit, see register
         emailService.sendForgotPasswordOtp(email, otp);
         return "Password reset OTP sent to your email.";
     }
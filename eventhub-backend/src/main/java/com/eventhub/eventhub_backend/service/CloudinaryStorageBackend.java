@@ -0,0 +1,91 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.eventhub.eventhub_backend.exception.BusinessException;
+import com.eventhub.eventhub_backend.util.DependencyGuard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "cloudinary", matchIfMissing = true)
+@Slf4j
+public class CloudinaryStorageBackend implements StorageBackend {
+
+    private static final int MAX_IDS_PER_DELETE = 100;
+
+    private final Cloudinary cloudinary;
+    private final DependencyGuard guard;
+
+    // Initialize Cloudinary with your credentials
+    public CloudinaryStorageBackend(
+            @Value("${cloudinary.cloud-name}") String cloudName,
+            @Value("${cloudinary.api-key}") String apiKey,
+            @Value("${cloudinary.api-secret}") String apiSecret,
+            @Value("${app.resilience.cloudinary.timeout-ms:30000}") long timeoutMs,
+            @Qualifier("cloudinaryGuard") DependencyGuard guard) {
+
+        this.cloudinary = new Cloudinary(ObjectUtils.asMap(
+                "cloud_name", cloudName,
+                "api_key", apiKey,
+                "api_secret", apiSecret,
+                "secure", true,
+                // Connect and socket timeout of the HTTP client, in seconds
+                "timeout", (int) Math.max(1, (timeoutMs + 999) / 1000)));
+        this.guard = guard;
+    }
+
+    @Override
+    public String store(Path file, String folderName) {
+        try {
+            // Uploads to a specific folder in Cloudinary (e.g., eventhub/avatars), streaming from disk
+            Map uploadResult = guard.call(() -> cloudinary.uploader().upload(file.toFile(),
+                    ObjectUtils.asMap("folder", "eventhub/" + folderName)));
+
+            // Returns the permanent, secure URL
+            return uploadResult.get("secure_url").toString();
+        } catch (IOException e) {
+            throw new BusinessException("Failed to upload image to Cloudinary");
+        }
+    }
+
+    @Override
+    public void deleteAll(List<String> fileUrls) throws IOException {
+        List<String> publicIds = fileUrls.stream()
+                .map(CloudinaryStorageBackend::publicIdOf)
+                .filter(Objects::nonNull)
+                .toList();
+
+        // Admin API bulk delete; missing ids are reported as not_found, not as errors
+        for (int from = 0; from < publicIds.size(); from += MAX_IDS_PER_DELETE) {
+            List<String> chunk = publicIds.subList(from, Math.min(publicIds.size(), from + MAX_IDS_PER_DELETE));
+            try {
+                guard.call(() -> cloudinary.api().deleteResources(chunk, ObjectUtils.emptyMap()));
+            } catch (Exception e) {
+                throw new IOException("Cloudinary bulk delete failed: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    // Extracts the public ID from the URL so Cloudinary knows which file to delete:
+    // .../upload/v123/eventhub/posters/abc.jpg -> eventhub/posters/abc (variants nest one folder deeper)
+    private static String publicIdOf(String fileUrl) {
+        if (!fileUrl.contains("res.cloudinary.com")) return null;
+        int eventhub = fileUrl.indexOf("/eventhub/");
+        int dot = fileUrl.lastIndexOf('.');
+        if (eventhub < 0 || dot < eventhub) {
+            log.warn("Not a deletable Cloudinary image URL: {}", fileUrl);
+            return null;
+        }
+        return fileUrl.substring(eventhub + 1, dot);
+    }
+}
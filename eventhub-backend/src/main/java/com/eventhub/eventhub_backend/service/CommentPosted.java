@@ -0,0 +1,10 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.dto.response.CommentResponse;
+
+/**
+ * Published when a comment is added to an event's discussion. Listeners receive
+ * it after the surrounding transaction commits.
+ */
+public record CommentPosted(Long eventId, CommentResponse comment) {
+}
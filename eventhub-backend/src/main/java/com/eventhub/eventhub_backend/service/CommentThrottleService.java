@@ -0,0 +1,68 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.exception.TooManyRequestsException;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how fast one user can post into one discussion, using an in-memory token
+ * bucket per (user, event): a burst of comments is allowed, then one more per
+ * refill period. The check runs before any database work, so a flood of posts is
+ * turned away without a registration lookup or an insert. Buckets are node-local;
+ * behind a load balancer the effective limit is per node.
+ */
+@Service
+public class CommentThrottleService {
+
+    private record Key(Long userId, Long eventId) {}
+
+    private final long burst;
+    private final Duration refillPeriod;
+    private final Counter throttled;
+
+    // Bucket4j local buckets are lock-free, so contention is per bucket only
+    private final Map<Key, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public CommentThrottleService(MeterRegistry meterRegistry,
+                                  @Value("${app.comments.rate-limit.burst:5}") long burst,
+                                  @Value("${app.comments.rate-limit.refill-seconds:10}") long refillSeconds) {
+        this.burst = burst;
+        this.refillPeriod = Duration.ofSeconds(refillSeconds);
+        this.throttled = Counter.builder("eventhub.comments.throttled")
+                .description("Comment posts rejected by the per-user rate limit")
+                .register(meterRegistry);
+    }
+
+    public void checkCanComment(Long userId, Long eventId) {
+        Bucket bucket = buckets.computeIfAbsent(new Key(userId, eventId), key -> newBucket());
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (probe.isConsumed()) return;
+
+        throttled.increment();
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill() + 999_999_999));
+        throw new TooManyRequestsException(
+                "You are posting too quickly. Please wait " + retryAfter + "s before commenting again.", retryAfter);
+    }
+
+    // A full bucket behaves exactly like a new one, so it can be dropped to bound memory
+    @Scheduled(fixedDelay = 300_000)
+    public void evictIdleBuckets() {
+        buckets.values().removeIf(bucket -> bucket.getAvailableTokens() >= burst);
+    }
+
+    private Bucket newBucket() {
+        return Bucket.builder()
+                .addLimit(limit -> limit.capacity(burst).refillGreedy(1, refillPeriod))
+                .build();
+    }
+}
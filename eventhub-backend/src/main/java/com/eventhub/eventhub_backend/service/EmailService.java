@@ -1,13 +1,15 @@
 package com.eventhub.eventhub_backend.service;
 
 import com.eventhub.eventhub_backend.entity.Event;
-import com.eventhub.eventhub_backend.entity.TeamMember;
 import com.eventhub.eventhub_backend.entity.User;
+import com.eventhub.eventhub_backend.exception.DependencyUnavailableException;
+import com.eventhub.eventhub_backend.util.DependencyGuard;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
@@ -17,34 +19,42 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
     private final JavaMailSender mailSender;
+    // Bounds concurrent SMTP sessions and stops trying while the provider is down
+    private final DependencyGuard smtpGuard;
 
     // ─── FIX: Now pulls the correct sender identity instead of the word "resend" ───
     @Value("${app.resend.from-email}")
     private String fromEmail;
 
+    public EmailService(JavaMailSender mailSender, @Qualifier("smtpGuard") DependencyGuard smtpGuard) {
+        this.mailSender = mailSender;
+        this.smtpGuard = smtpGuard;
+    }
+
     // ─── AUTH & OTP EMAILS ──────────────────────────────────────────────────────
+    // Sent synchronously: the user is told the code is on its way, so a failed send
+    // must reach the request (503 via DependencyUnavailableException) instead of
+    // being dropped in the background. Callers must not hold a transaction open
+    // across these calls.
 
-    @Async("emailTaskExecutor")
     public void sendOtpEmail(String to, String otp) {
         String subject = "Verify your Event Hub Account";
         String htmlBody = "<h2>Welcome to Event Hub!</h2>" +
                 "<p>Your verification code is: <b style='font-size: 20px; color: #d4af37;'>" + otp + "</b></p>" +
                 "<p>This code will expire in 15 minutes.</p>";
-        sendHtmlEmail(to, subject, htmlBody);
+        sendRequiredHtmlEmail(to, subject, htmlBody);
     }
 
-    @Async("emailTaskExecutor")
     public void sendForgotPasswordOtp(String to, String otp) {
         String subject = "Password Reset Request";
         String htmlBody = "<h2>Password Reset</h2>" +
                 "<p>Your OTP to reset your password is: <b style='font-size: 20px; color: #d4af37;'>" + otp + "</b></p>" +
                 "<p>This code will expire in 10 minutes. If you did not request this, please ignore this email.</p>";
-        sendHtmlEmail(to, subject, htmlBody);
+        sendRequiredHtmlEmail(to, subject, htmlBody);
     }
 
     // ─── EVENT CONFIRMATION & REMINDER EMAILS ───────────────────────────────────
@@ -81,6 +91,15 @@ public class EmailService {
                         "<p>A spot opened up and you are now officially registered for <b>" + event.getTitle() + "</b>.</p>");
     }
 
+    @Async("emailTaskExecutor")
+    public void sendWaitlistPromotionBatch(List<User> users, Event event) {
+        List<String> emails = users.stream().map(User::getEmail).toList();
+        sendBulkBccEmail(emails,
+                "You got a spot! 🎉 " + event.getTitle(),
+                "<h2>Great news!</h2>" +
+                        "<p>A spot opened up and you are now officially registered for <b>" + event.getTitle() + "</b>.</p>");
+    }
+
     @Async("emailTaskExecutor")
     public void sendEventReminder(User user, Event event) {
         String subject = "Reminder: " + event.getTitle() + " is starting soon!";
@@ -94,10 +113,10 @@ public class EmailService {
     // ─── TEAM & BULK EMAILS ─────────────────────────────────────────────────────
 
     @Async("emailTaskExecutor")
-    public void sendTeamRegistrationConfirmation(User leader, List<TeamMember> teamMembers, Event event, boolean isWaitlist) {
+    public void sendTeamRegistrationConfirmation(User leader, List<User> teammates, Event event, boolean isWaitlist) {
         List<String> allEmails = new ArrayList<>();
         allEmails.add(leader.getEmail());
-        teamMembers.forEach(tm -> allEmails.add(tm.getEmail()));
+        teammates.forEach(tm -> allEmails.add(tm.getEmail()));
 
         String statusText = isWaitlist ? "on the waitlist" : "successfully registered";
         String subject = isWaitlist ? "Team Waitlisted: " + event.getTitle() : "Team Registered: " + event.getTitle();
@@ -116,7 +135,16 @@ public class EmailService {
 
     // ─── CORE HTML EMAIL LOGIC ──────────────────────────────────────────────────
 
+    // Best effort: notifications are dropped (and logged) while SMTP is unavailable
     private void sendHtmlEmail(String to, String subject, String htmlBody) {
+        try {
+            sendRequiredHtmlEmail(to, subject, htmlBody);
+        } catch (DependencyUnavailableException e) {
+            log.warn("Email to {} not sent: {}", to, e.getMessage());
+        }
+    }
+
+    private void sendRequiredHtmlEmail(String to, String subject, String htmlBody) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
@@ -126,10 +154,11 @@ public class EmailService {
             helper.setSubject(subject);
             helper.setText(htmlBody, true); // true = HTML format
 
-            mailSender.send(message);
+            smtpGuard.run(() -> mailSender.send(message));
             log.info("Email sent to {}", to);
-        } catch (MessagingException e) {
+        } catch (MessagingException | MailException e) {
             log.error("Failed to send email to {}", to, e);
+            throw new DependencyUnavailableException("We could not send the email. Please try again shortly.", 30);
         }
     }
 
@@ -151,9 +180,11 @@ public class EmailService {
                 helper.setSubject(subject);
                 helper.setText(htmlBody, true);
 
-                mailSender.send(message);
+                smtpGuard.run(() -> mailSender.send(message));
                 log.info("Sent bulk email batch to {} recipients", batch.size());
-            } catch (MessagingException e) {
+            } catch (DependencyUnavailableException e) {
+                log.warn("Bulk email batch of {} recipients not sent: {}", batch.size(), e.getMessage());
+            } catch (MessagingException | MailException e) {
                 log.error("Failed to send bulk email batch", e);
             }
         }
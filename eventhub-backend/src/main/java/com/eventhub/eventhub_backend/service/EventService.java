@@ -4,12 +4,16 @@ import com.eventhub.eventhub_backend.dto.request.EventFilterRequest;
 import com.eventhub.eventhub_backend.dto.request.EventRequest;
 import com.eventhub.eventhub_backend.dto.request.TeamRegistrationRequest;
 import com.eventhub.eventhub_backend.dto.response.AnalyticsResponse;
+import com.eventhub.eventhub_backend.dto.response.AttendeePageResponse;
 import com.eventhub.eventhub_backend.dto.response.AttendeeResponse;
 import com.eventhub.eventhub_backend.dto.response.EventResponse;
+import com.eventhub.eventhub_backend.dto.response.WaitlistPositionResponse;
 import com.eventhub.eventhub_backend.entity.Event;
+import com.eventhub.eventhub_backend.entity.EventRatingStats;
 import com.eventhub.eventhub_backend.entity.EventStage;
+import com.eventhub.eventhub_backend.entity.EventViewStats;
 import com.eventhub.eventhub_backend.entity.Registration;
-import com.eventhub.eventhub_backend.entity.TeamMember;
+import com.eventhub.eventhub_backend.entity.Team;
 import com.eventhub.eventhub_backend.entity.User;
 import com.eventhub.eventhub_backend.enums.EventStatus;
 import com.eventhub.eventhub_backend.enums.RegistrationStatus;
@@ -19,6 +23,7 @@ import com.eventhub.eventhub_backend.exception.ResourceNotFoundException;
 import com.eventhub.eventhub_backend.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -29,9 +34,13 @@ import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Fetch;
 import jakarta.persistence.criteria.Predicate;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -41,32 +50,22 @@ public class EventService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final RegistrationRepository registrationRepository;
-    private final RatingRepository ratingRepository;
+    private final EventRatingStatsRepository ratingStatsRepository;
     private final FileStorageService fileStorageService;
     private final EmailService emailService;
     private final NotificationService notificationService;
-    private final TeamMemberRepository teamMemberRepository;
+    private final TeamRepository teamRepository;
+    private final EventDailyStatsRepository dailyStatsRepository;
+    private final EventViewStatsRepository viewStatsRepository;
+    private final EventTrendingScoreRepository trendingScoreRepository;
+    private final WaitlistPromotionService waitlistPromotionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TrendingService trendingService;
 
     // ─── NEW HELPER: TEAM-AWARE SLOT COUNTING ───
     private long countOccupiedSlots(Long eventId) {
-        List<Registration> allRegs = registrationRepository.findByEventId(eventId);
-
-        Set<String> registeredTeams = new HashSet<>();
-        long soloRegistrations = 0;
-
-        for (Registration reg : allRegs) {
-            // Count registered and incomplete teams/users as taking up a spot
-            if (reg.getStatus() == RegistrationStatus.REGISTERED ||
-                    reg.getStatus() == RegistrationStatus.INCOMPLETE) {
-
-                if (reg.getTeamName() != null && !reg.getTeamName().isBlank()) {
-                    registeredTeams.add(reg.getTeamName());
-                } else {
-                    soloRegistrations++;
-                }
-            }
-        }
-        return registeredTeams.size() + soloRegistrations;
+        // Registered and incomplete teams/users take up a spot; a team counts once
+        return registrationRepository.countOccupiedSlots(eventId);
     }
 
     @Transactional
@@ -126,26 +125,147 @@ public class EventService {
         Event event = getEventOrThrow(eventId);
         verifyHostOwnership(event, hostId);
 
-        return registrationRepository.findByEventIdOrderByRegisteredAtDesc(eventId).stream()
-                .map(reg -> AttendeeResponse.builder()
-                        .userId(reg.getUser().getId())
-                        .name(reg.getUser().getName())
-                        .email(reg.getUser().getEmail())
-                        .course(reg.getUser().getCourse())
-                        .batch(reg.getUser().getBatch())
-                        .status(reg.getStatus())
-                        .registeredAt(reg.getRegisteredAt())
-                        .teamName(reg.getTeamName())
-                        .teammates(reg.getTeamMembers().stream()
-                                .map(tm -> AttendeeResponse.TeamMemberResponse.builder()
-                                        .name(tm.getName())
-                                        .email(tm.getEmail())
-                                        .build())
-                                .toList())
-                        .build())
+        List<Registration> registrations = registrationRepository.findByEventIdOrderByRegisteredAtDesc(eventId);
+
+        // Every team member is in this list already, so rosters need no extra queries
+        Map<Long, List<Registration>> rosters = registrations.stream()
+                .filter(reg -> reg.getTeam() != null)
+                .collect(Collectors.groupingBy(reg -> reg.getTeam().getId()));
+
+        return registrations.stream()
+                .map(reg -> toAttendeeResponse(reg, rosters))
                 .toList();
     }
 
+    /**
+     * One page of an event's attendees, newest first, using a keyset cursor so deep
+     * pages cost the same as the first. Teammates for the page come from one extra
+     * IN query and the per-status totals from one grouped query.
+     */
+    @Transactional(readOnly = true)
+    public AttendeePageResponse getEventAttendeesPage(Long eventId, Long hostId, RegistrationStatus status,
+                                                      String team, String batch, String course,
+                                                      String cursor, int size) {
+        Event event = getEventOrThrow(eventId);
+        verifyHostOwnership(event, hostId);
+
+        int pageSize = Math.max(1, Math.min(size, 100));
+        Specification<Registration> spec = attendeeSpecification(eventId, status, team, batch, course, decodeCursor(cursor));
+        Sort sort = Sort.by(Sort.Order.desc("registeredAt"), Sort.Order.desc("id"));
+
+        // One extra row tells us whether another page exists without a count query
+        List<Registration> rows = registrationRepository.findBy(spec, q -> q.sortBy(sort).limit(pageSize + 1).all());
+        boolean hasNext = rows.size() > pageSize;
+        List<Registration> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        Set<Long> leaderTeamIds = page.stream()
+                .filter(reg -> reg.getTeam() != null && reg.getTeam().getLeader() != null
+                        && reg.getTeam().getLeader().getId().equals(reg.getUser().getId()))
+                .map(reg -> reg.getTeam().getId())
+                .collect(Collectors.toSet());
+        Map<Long, List<Registration>> rosters = leaderTeamIds.isEmpty() ? Map.of()
+                : registrationRepository.findByTeamIdsWithUser(leaderTeamIds).stream()
+                        .collect(Collectors.groupingBy(reg -> reg.getTeam().getId()));
+
+        Map<RegistrationStatus, Long> statusCounts = new EnumMap<>(RegistrationStatus.class);
+        for (Object[] row : registrationRepository.countByStatusForEvent(eventId)) {
+            statusCounts.put((RegistrationStatus) row[0], ((Number) row[1]).longValue());
+        }
+
+        Registration last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return AttendeePageResponse.builder()
+                .items(page.stream().map(reg -> toAttendeeResponse(reg, rosters)).toList())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(last) : null)
+                .statusCounts(statusCounts)
+                .build();
+    }
+
+    private Specification<Registration> attendeeSpecification(Long eventId, RegistrationStatus status, String team,
+                                                             String batch, String course, @Nullable Object[] after) {
+        return (root, query, cb) -> {
+            // Fetch joins double as filter joins; count queries cannot fetch
+            Join<Registration, User> user;
+            Join<Registration, Team> teamJoin;
+            if (Long.class != query.getResultType()) {
+                Fetch<Registration, User> userFetch = root.fetch("user", JoinType.INNER);
+                Fetch<Registration, Team> teamFetch = root.fetch("team", JoinType.LEFT);
+                user = (Join<Registration, User>) userFetch;
+                teamJoin = (Join<Registration, Team>) teamFetch;
+            } else {
+                user = root.join("user", JoinType.INNER);
+                teamJoin = root.join("team", JoinType.LEFT);
+            }
+
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("event").get("id"), eventId));
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (team != null && !team.isBlank()) {
+                predicates.add(cb.equal(cb.lower(teamJoin.get("name")), team.trim().toLowerCase()));
+            }
+            if (batch != null && !batch.isBlank()) {
+                predicates.add(cb.equal(cb.lower(user.get("batch")), batch.trim().toLowerCase()));
+            }
+            if (course != null && !course.isBlank()) {
+                predicates.add(cb.equal(cb.lower(user.get("course")), course.trim().toLowerCase()));
+            }
+            if (after != null) {
+                LocalDateTime afterTime = (LocalDateTime) after[0];
+                Long afterId = (Long) after[1];
+                predicates.add(cb.or(
+                        cb.lessThan(root.get("registeredAt"), afterTime),
+                        cb.and(cb.equal(root.get("registeredAt"), afterTime), cb.lessThan(root.get("id"), afterId))));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Cursor is the (registeredAt, id) of the last row served, base64url-encoded
+    private String encodeCursor(Registration last) {
+        String raw = last.getRegisteredAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Object[] decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf('|');
+            return new Object[]{LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1))};
+        } catch (RuntimeException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
+    // Teammates are listed on the team leader's row, as the host dashboard expects
+    private AttendeeResponse toAttendeeResponse(Registration reg, Map<Long, List<Registration>> rosters) {
+        List<AttendeeResponse.TeamMemberResponse> teammates = List.of();
+        Team team = reg.getTeam();
+        if (team != null && team.getLeader() != null && team.getLeader().getId().equals(reg.getUser().getId())) {
+            teammates = rosters.getOrDefault(team.getId(), List.of()).stream()
+                    .filter(member -> !member.getId().equals(reg.getId()))
+                    .map(member -> AttendeeResponse.TeamMemberResponse.builder()
+                            .name(member.getUser().getName())
+                            .email(member.getUser().getEmail())
+                            .build())
+                    .toList();
+        }
+
+        return AttendeeResponse.builder()
+                .userId(reg.getUser().getId())
+                .name(reg.getUser().getName())
+                .email(reg.getUser().getEmail())
+                .course(reg.getUser().getCourse())
+                .batch(reg.getUser().getBatch())
+                .status(reg.getStatus())
+                .registeredAt(reg.getRegisteredAt())
+                .teamName(reg.getTeamName())
+                .teammates(teammates)
+                .build();
+    }
+
     @Transactional
     public EventResponse updateEvent(Long eventId, Long hostId, EventRequest request) {
         Event event = getEventOrThrow(eventId);
@@ -158,6 +278,7 @@ public class EventService {
         LocalDateTime endTime = request.getEventEndTime() != null
                 ? request.getEventEndTime()
                 : request.getEventDate().plusHours(2);
+        int previousCapacity = event.getMaxParticipants();
 
         event.setTitle(request.getTitle());
         event.setDescription(request.getDescription());
@@ -188,6 +309,11 @@ public class EventService {
             event.getStages().addAll(newStages);
         }
 
+        // Raised capacity: hand the new seats to the waitlist straight away
+        if (request.getMaxParticipants() > previousCapacity) {
+            waitlistPromotionService.promote(event.getId());
+        }
+
         updateEventStatus(event);
         return toResponse(eventRepository.save(event), Optional.empty());
     }
@@ -201,7 +327,15 @@ public class EventService {
             throw new RuntimeException("Forbidden: You can only delete your own events.");
         }
 
+        // Teams are not cascaded from Event; they go first, as they reference the event
+        registrationRepository.unlinkTeamsOfEvent(eventId);
+        teamRepository.deleteByEventId(eventId);
         eventRepository.delete(event);
+        ratingStatsRepository.deleteById(eventId);
+        dailyStatsRepository.deleteByEventId(eventId);
+        viewStatsRepository.deleteById(eventId);
+        trendingScoreRepository.deleteById(eventId);
+        trendingService.forget(eventId);
     }
 
     @Transactional
@@ -213,6 +347,12 @@ public class EventService {
             fileStorageService.deleteFile(event.getPosterUrl());
         }
         event.setPosterUrl(fileUrl);
+        // Variants of the old poster are dropped; new ones are rendered after upload
+        replaceImageVariant(event, ImageDerivativeService.Variant.HERO, null);
+        if (event.getCardImageUrl() == null) {
+            replaceImageVariant(event, ImageDerivativeService.Variant.CARD, null);
+            replaceImageVariant(event, ImageDerivativeService.Variant.THUMBNAIL, null);
+        }
         return toResponse(eventRepository.save(event), Optional.empty());
     }
 
@@ -234,6 +374,21 @@ public class EventService {
         return toResponse(event, Optional.ofNullable(currentUserId));
     }
 
+    @Transactional(readOnly = true)
+    public List<EventResponse> getTrendingEvents(int limit, @Nullable Long currentUserId) {
+        List<Long> ids = trendingService.topEventIds(Math.min(Math.max(limit, 1), 50));
+        if (ids.isEmpty()) return List.of();
+
+        // Keep the ranking order; events that closed or were removed since they trended drop out
+        Map<Long, Event> byId = eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(e -> e != null && (e.getStatus() == EventStatus.ACTIVE || e.getStatus() == EventStatus.FULL))
+                .map(e -> toResponse(e, Optional.ofNullable(currentUserId)))
+                .toList();
+    }
+
     public Page<EventResponse> getHostEvents(Long hostId, int page, int size) {
         PageRequest pageable = PageRequest.of(
                 page,
@@ -248,7 +403,7 @@ public class EventService {
     // ─── UPDATED TEAM REGISTRATION LOGIC ───
     @Transactional
     public RegistrationResponse registerForEvent(Long eventId, Long userId, TeamRegistrationRequest request) {
-        Event event = getEventOrThrow(eventId);
+        Event event = getEventForUpdateOrThrow(eventId);
         User user = userRepository.findByIdAndDeletedFalse(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
@@ -265,31 +420,33 @@ public class EventService {
             throw new BusinessException("Registration deadline has passed");
         }
 
+        boolean isTeam = request != null && request.getTeamName() != null && !request.getTeamName().isBlank();
         int totalTeamSize = 1;
         List<User> teammateUsers = new ArrayList<>();
-        List<String> emailsToCheck = new ArrayList<>();
-        emailsToCheck.add(user.getEmail());
 
         if (request != null && request.getTeamMembers() != null && !request.getTeamMembers().isEmpty()) {
-            if (request.getTeamName() == null || request.getTeamName().trim().isEmpty()) {
+            if (!isTeam) {
                 throw new BusinessException("Team name is required for team registrations.");
             }
-            if (registrationRepository.existsByEventIdAndTeamName(eventId, request.getTeamName())) {
-                throw new BusinessException("The team name '" + request.getTeamName() + "' is already taken for this event. Please choose a different name.");
-            }
             totalTeamSize += request.getTeamMembers().size();
 
-            for (TeamRegistrationRequest.TeammateDto dto : request.getTeamMembers()) {
-                if (emailsToCheck.contains(dto.getEmail())) {
+            List<String> emails = request.getTeamMembers().stream()
+                    .map(TeamRegistrationRequest.TeammateDto::getEmail)
+                    .toList();
+            Set<String> seen = new HashSet<>();
+            seen.add(user.getEmail());
+            for (String email : emails) {
+                if (!seen.add(email)) {
                     throw new BusinessException("Duplicate emails found within your team registration.");
                 }
+            }
 
-                User teammateUser = userRepository.findByEmailAndDeletedFalse(dto.getEmail())
-                        .orElseThrow(() -> new BusinessException("Registration failed: User with email '" + dto.getEmail() + "' is not registered on EventHub."));
+            teammateUsers = resolveUsersByEmail(emails, email ->
+                    "Registration failed: User with email '" + email + "' is not registered on EventHub.");
+        }
 
-                emailsToCheck.add(dto.getEmail());
-                teammateUsers.add(teammateUser);
-            }
+        if (isTeam && teamRepository.existsByEventIdAndName(eventId, request.getTeamName())) {
+            throw new BusinessException("The team name '" + request.getTeamName() + "' is already taken for this event. Please choose a different name.");
         }
 
         int minTeam = event.getMinTeamSize() != null ? event.getMinTeamSize() : 1;
@@ -299,122 +456,173 @@ public class EventService {
             throw new BusinessException("Team size cannot exceed " + maxTeam + " members.");
         }
 
-        Optional<Registration> existing = registrationRepository.findByUserIdAndEventId(userId, eventId);
+        Optional<Registration> existing = registrationRepository.findWithTeamByUserIdAndEventId(userId, eventId);
         if (existing.isPresent()) {
             RegistrationStatus existingStatus = existing.get().getStatus();
             if (existingStatus == RegistrationStatus.REGISTERED || existingStatus == RegistrationStatus.WAITLIST || existingStatus == RegistrationStatus.INCOMPLETE) {
                 throw new BusinessException("You are already registered or on waitlist for this event");
             }
+            releaseFromTeam(existing.get());
             registrationRepository.delete(existing.get());
             registrationRepository.flush();
         }
 
-        for (User teammate : teammateUsers) {
-            Optional<Registration> tmExisting = registrationRepository.findByUserIdAndEventId(teammate.getId(), eventId);
-            if (tmExisting.isPresent()) {
-                throw new BusinessException("Registration failed: " + teammate.getName() + " (" + teammate.getEmail() + ") is already registered or invited to this event.");
-            }
-        }
+        findAlreadyRegistered(eventId, teammateUsers).ifPresent(teammate -> {
+            throw new BusinessException("Registration failed: " + teammate.getName() + " (" + teammate.getEmail() + ") is already registered or invited to this event.");
+        });
 
-        // ─── 1. CREATE LEADER REGISTRATION ───
+        // ─── 1. CREATE TEAM AND LEADER REGISTRATION ───
         RegistrationStatus leaderStatus = (minTeam > 1) ? RegistrationStatus.INCOMPLETE : determineStatus(event);
-        Registration leaderRegistration = Registration.builder()
+
+        Team team = null;
+        if (isTeam) {
+            team = teamRepository.save(Team.builder()
+                    .event(event)
+                    .name(request.getTeamName())
+                    .leader(user)
+                    .status(leaderStatus)
+                    .memberCount(1)
+                    .pendingCount(teammateUsers.size())
+                    .build());
+        }
+
+        Registration savedLeader = registrationRepository.save(Registration.builder()
                 .user(user)
                 .event(event)
                 .status(leaderStatus)
-                .teamName(request != null ? request.getTeamName() : null)
+                .team(team)
                 .registeredAt(LocalDateTime.now())
-                .build();
-
-        List<TeamMember> teamMemberLinks = new ArrayList<>();
+                .build());
 
         // ─── 2. CREATE PENDING INVITATIONS FOR TEAMMATES ───
-        for (User teammate : teammateUsers) {
-            Registration teammateInvite = Registration.builder()
-                    .user(teammate)
-                    .event(event)
-                    .status(RegistrationStatus.PENDING_INVITATION)
-                    .teamName(request != null ? request.getTeamName() : null)
-                    .registeredAt(LocalDateTime.now())
-                    .build();
-            registrationRepository.save(teammateInvite);
-
-            TeamMember tm = TeamMember.builder()
-                    .name(teammate.getName())
-                    .email(teammate.getEmail())
-                    .registration(leaderRegistration)
-                    .build();
-            teamMemberLinks.add(tm);
-
-            if (request != null && request.getTeamName() != null) {
-                notificationService.createNotification(teammate.getId(), "New Team Invite! 📧",
-                        user.getName() + " invited you to join '" + request.getTeamName() + "' for the event: " + event.getTitle());
-            }
+        if (!teammateUsers.isEmpty()) {
+            List<Long> teammateIds = teammateUsers.stream().map(User::getId).toList();
+            registrationRepository.insertTeamInvitations(eventId, team.getId(), teammateIds);
+            notificationService.createNotifications(teammateIds, "New Team Invite! 📧",
+                    user.getName() + " invited you to join '" + request.getTeamName() + "' for the event: " + event.getTitle());
         }
 
-        leaderRegistration.setTeamMembers(teamMemberLinks);
-        Registration savedLeader = registrationRepository.save(leaderRegistration);
-
         // Check if team is immediately complete (e.g., solo event)
-        checkAndUpgradeTeamStatus(event, leaderRegistration.getTeamName());
+        checkAndUpgradeTeamStatus(event, team);
 
-        handlePostRegistration(user, event, leaderStatus, teamMemberLinks);
+        handlePostRegistration(user, event, leaderStatus, teammateUsers);
         updateEventStatus(event);
         eventRepository.save(event);
 
+        if (leaderStatus == RegistrationStatus.REGISTERED) {
+            eventPublisher.publishEvent(new RegistrationActivity(eventId, RegistrationActivity.Kind.REGISTERED, 1));
+        } else if (leaderStatus == RegistrationStatus.WAITLIST) {
+            eventPublisher.publishEvent(new RegistrationActivity(eventId, RegistrationActivity.Kind.WAITLISTED, 1));
+        }
+
         return toRegResponse(savedLeader);
     }
 
     @Transactional
     public void declineTeamInvitation(Long eventId, Long userId) {
-        Registration invite = registrationRepository.findByUserIdAndEventId(userId, eventId)
+        Registration invite = registrationRepository.findWithTeamByUserIdAndEventId(userId, eventId)
                 .orElseThrow(() -> new BusinessException("No invitation found."));
 
+        releaseFromTeam(invite);
         registrationRepository.delete(invite);
     }
 
     @Transactional
     public void acceptTeamInvitation(Long eventId, Long userId) {
-        Registration invite = registrationRepository.findByUserIdAndEventId(userId, eventId)
+        Registration invite = registrationRepository.findWithTeamByUserIdAndEventId(userId, eventId)
                 .orElseThrow(() -> new BusinessException("No invitation found."));
 
         if (invite.getStatus() != RegistrationStatus.PENDING_INVITATION) {
             throw new BusinessException("This invitation is no longer valid.");
         }
 
-        Event event = getEventOrThrow(eventId);
+        Event event = getEventForUpdateOrThrow(eventId);
+        Team team = invite.getTeam();
 
-        invite.setStatus(event.getMinTeamSize() > 1 ? RegistrationStatus.INCOMPLETE : determineStatus(event));
+        if (team != null && team.getStatus() == RegistrationStatus.CANCELLED) {
+            throw new BusinessException("This team no longer exists.");
+        }
+        if (team == null) {
+            invite.setStatus(event.getMinTeamSize() > 1 ? RegistrationStatus.INCOMPLETE : determineStatus(event));
+        } else {
+            // Joining a team that already holds (or waits for) a seat inherits its status
+            invite.setStatus(team.getStatus());
+            team.setMemberCount(team.getMemberCount() + 1);
+            team.setPendingCount(Math.max(0, team.getPendingCount() - 1));
+        }
         registrationRepository.save(invite);
 
-        checkAndUpgradeTeamStatus(event, invite.getTeamName());
+        checkAndUpgradeTeamStatus(event, team);
         updateEventStatus(event);
     }
 
-    private void checkAndUpgradeTeamStatus(Event event, String teamName) {
-        if (teamName == null || event.getMinTeamSize() <= 1) return;
+    // Completeness is an O(1) check on the maintained member count; the upgrade
+    // itself is a single UPDATE over the team's INCOMPLETE registrations.
+    private void checkAndUpgradeTeamStatus(Event event, Team team) {
+        if (team == null || event.getMinTeamSize() <= 1) return;
+        if (team.getStatus() != RegistrationStatus.INCOMPLETE || !team.isComplete(event.getMinTeamSize())) return;
+
+        RegistrationStatus newStatus = determineStatus(event);
+        team.setStatus(newStatus);
+        teamRepository.save(team);
+
+        List<Long> upgradedUserIds = registrationRepository.upgradeIncompleteTeamMembers(team.getId(), newStatus.name());
+        notificationService.createNotifications(upgradedUserIds,
+                "Team Registration Confirmed! 🎉",
+                "Your team '" + team.getName() + "' has enough members and is now officially " + newStatus + " for " + event.getTitle());
+        eventPublisher.publishEvent(new RegistrationActivity(event.getId(), RegistrationActivity.Kind.TEAM_COMPLETED, 1));
+    }
+
+    // Resolves all teammate emails in one query, keeping the caller's order
+    private List<User> resolveUsersByEmail(List<String> emails, Function<String, String> notFoundMessage) {
+        if (emails.isEmpty()) return List.of();
+
+        Map<String, User> byEmail = userRepository.findByEmailInAndDeletedFalse(emails).stream()
+                .collect(Collectors.toMap(User::getEmail, u -> u));
 
-        List<Registration> teamMembers = registrationRepository.findByEventIdAndTeamName(event.getId(), teamName);
+        List<User> users = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            User found = byEmail.get(email);
+            if (found == null) {
+                throw new BusinessException(notFoundMessage.apply(email));
+            }
+            users.add(found);
+        }
+        return users;
+    }
 
-        long acceptedCount = teamMembers.stream()
-                .filter(r -> r.getStatus() == RegistrationStatus.REGISTERED
-                        || r.getStatus() == RegistrationStatus.WAITLIST
-                        || r.getStatus() == RegistrationStatus.INCOMPLETE)
-                .count();
+    // First of the given users that already has a registration or invitation for the event
+    private Optional<User> findAlreadyRegistered(Long eventId, List<User> users) {
+        if (users.isEmpty()) return Optional.empty();
 
-        if (acceptedCount >= event.getMinTeamSize()) {
-            RegistrationStatus newStatus = determineStatus(event);
-            for (Registration r : teamMembers) {
-                if (r.getStatus() == RegistrationStatus.INCOMPLETE) {
-                    r.setStatus(newStatus);
-                    registrationRepository.save(r);
+        Set<Long> taken = new HashSet<>(registrationRepository.findRegisteredUserIds(
+                eventId, users.stream().map(User::getId).toList()));
+        return users.stream().filter(u -> taken.contains(u.getId())).findFirst();
+    }
 
-                    notificationService.createNotification(r.getUser().getId(),
-                            "Team Registration Confirmed! 🎉",
-                            "Your team '" + teamName + "' has enough members and is now officially " + newStatus + " for " + event.getTitle());
-                }
+    // Keeps the team counters and status in step when a registration leaves its team,
+    // with the same rules as TeamRepository.releaseMembershipsOfUser
+    private void releaseFromTeam(Registration reg) {
+        Team team = reg.getTeam();
+        if (team == null) return;
+
+        RegistrationStatus status = reg.getStatus();
+        if (status == RegistrationStatus.PENDING_INVITATION) {
+            team.setPendingCount(Math.max(0, team.getPendingCount() - 1));
+        } else if (status == RegistrationStatus.REGISTERED || status == RegistrationStatus.WAITLIST
+                || status == RegistrationStatus.INCOMPLETE) {
+            team.setMemberCount(Math.max(0, team.getMemberCount() - 1));
+            Integer minTeamSize = reg.getEvent().getMinTeamSize();
+            if (team.getMemberCount() == 0) {
+                // An empty team must not keep its seat
+                team.setStatus(RegistrationStatus.CANCELLED);
+            } else if (team.getStatus() == RegistrationStatus.REGISTERED
+                    && team.getMemberCount() < (minTeamSize != null ? minTeamSize : 1)) {
+                team.setStatus(RegistrationStatus.INCOMPLETE);
+                registrationRepository.updateTeamStatus(team.getId(), RegistrationStatus.REGISTERED, RegistrationStatus.INCOMPLETE);
             }
         }
+        teamRepository.save(team);
     }
 
     @Transactional(readOnly = true)
@@ -425,33 +633,31 @@ public class EventService {
                 .map(registration -> toResponse(registration.getEvent(), Optional.of(userId)));
     }
 
-    @Transactional
-    public void promoteFromWaitlist(Event event) {
-        List<Registration> waitlist = registrationRepository.findWaitlistByEventIdOrdered(event.getId());
-        long registered = registrationRepository.countByEventIdAndStatus(event.getId(), RegistrationStatus.REGISTERED);
-
-        if (registered < event.getMaxParticipants() && !waitlist.isEmpty()) {
-            Registration toPromote = waitlist.get(0);
-            toPromote.setStatus(RegistrationStatus.REGISTERED);
-            registrationRepository.save(toPromote);
+    @Transactional(readOnly = true)
+    public WaitlistPositionResponse getWaitlistPosition(Long eventId, Long userId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
 
-            emailService.sendWaitlistPromotion(toPromote.getUser(), event);
-            notificationService.createNotification(
-                    toPromote.getUser().getId(),
-                    "You got a spot! 🎊",
-                    "You've been promoted from the waitlist for: " + event.getTitle());
-            log.info("Promoted user {} from waitlist for event {}", toPromote.getUser().getId(), event.getId());
+        Object[] row = registrationRepository.findWaitlistPosition(eventId, userId).get(0);
+        if (row[0] == null) {
+            throw new BusinessException("You are not on the waitlist for this event");
         }
+
+        return WaitlistPositionResponse.builder()
+                .eventId(eventId)
+                .position(((Number) row[0]).longValue())
+                .waitlistSize(((Number) row[1]).longValue())
+                .build();
     }
 
     @Transactional
-    public void suspendHostEvents(Long hostId) {
-        List<Event> events = new ArrayList<>(eventRepository.findByHostIdAndStatus(hostId, EventStatus.ACTIVE));
-        events.addAll(eventRepository.findByHostIdAndStatus(hostId, EventStatus.FULL));
-        events.forEach(event -> {
-            event.setStatus(EventStatus.SUSPENDED);
-            eventRepository.save(event);
-        });
+    public List<Long> suspendHostEvents(Long hostId) {
+        List<Long> suspendedIds = eventRepository.suspendActiveEventsByHostId(hostId);
+        if (!suspendedIds.isEmpty()) {
+            log.info("Suspended {} events of host {}: {}", suspendedIds.size(), hostId, suspendedIds);
+        }
+        return suspendedIds;
     }
 
     public AnalyticsResponse getAnalytics(Long eventId, Long hostId) {
@@ -465,16 +671,33 @@ public class EventService {
                 ? (totalRegistrations * 100.0) / event.getMaxParticipants()
                 : 0;
 
-        Double avgRating = ratingRepository.findAverageRatingByEventId(eventId);
-        long ratingCount = ratingRepository.countByEventId(eventId);
+        EventRatingStats ratingStats = ratingStatsRepository.findById(eventId).orElse(null);
+        Double avgRating = ratingStats != null ? ratingStats.getAverage() : null;
+        long ratingCount = ratingStats != null ? ratingStats.getRatingCount() : 0;
+
+        // Precomputed by the analytics rollup job, at most a minute behind
+        List<Map<String, Object>> daily = dailyStatsRepository.findSeriesByEventId(eventId).stream()
+                .filter(day -> day.getRegisteredCount() > 0)
+                .map(day -> {
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    map.put("date", day.getId().getStatDate().toString());
+                    map.put("count", day.getRegisteredCount());
+                    return map;
+                }).toList();
 
-        List<Object[]> rawCounts = registrationRepository.findDailyRegistrationCounts(eventId);
-        List<Map<String, Object>> daily = rawCounts.stream().map(row -> {
-            Map<String, Object> map = new LinkedHashMap<>();
-            map.put("date", row[0].toString());
-            map.put("count", row[1]);
-            return map;
-        }).toList();
+        // View totals are flushed every few seconds by ViewTrackingService
+        EventViewStats viewStats = viewStatsRepository.findById(eventId).orElse(null);
+        long views = viewStats != null ? viewStats.getTotalViews() : 0;
+        long uniqueViewers = viewStats != null ? viewStats.getUniqueViews() : 0;
+        AnalyticsResponse.Funnel funnel = AnalyticsResponse.Funnel.builder()
+                .views(views)
+                .uniqueViewers(uniqueViewers)
+                .registrations(totalRegistrations)
+                .waitlisted(waitlistCount)
+                .conversionRate(uniqueViewers > 0
+                        ? Math.round(totalRegistrations * 1000.0 / uniqueViewers) / 10.0
+                        : 0)
+                .build();
 
         return AnalyticsResponse.builder()
                 .eventId(eventId)
@@ -483,23 +706,21 @@ public class EventService {
                 .waitlistCount(waitlistCount)
                 .fillPercentage(Math.round(fillPercentage * 10.0) / 10.0)
                 .maxParticipants(event.getMaxParticipants())
-                .availableSeats(event.getAvailableSeats())
+                .availableSeats((int) Math.max(0, event.getMaxParticipants() - totalRegistrations))
                 .averageRating(avgRating)
                 .ratingCount(ratingCount)
                 .dailyRegistrationCounts(daily)
+                .funnel(funnel)
                 .build();
     }
 
     @Transactional
-    public void markExpiredEventsCompleted() {
-        List<Event> expired = eventRepository.findExpiredActiveEvents(LocalDateTime.now());
-        expired.forEach(event -> {
-            event.setStatus(EventStatus.COMPLETED);
-            eventRepository.save(event);
-        });
-        if (!expired.isEmpty()) {
-            log.info("Marked {} events as COMPLETED", expired.size());
+    public List<Long> markExpiredEventsCompleted() {
+        List<Long> completedIds = eventRepository.markExpiredEventsCompleted(LocalDateTime.now());
+        if (!completedIds.isEmpty()) {
+            log.info("Marked {} events as COMPLETED: {}", completedIds.size(), completedIds);
         }
+        return completedIds;
     }
 
     @Transactional
@@ -512,11 +733,11 @@ public class EventService {
         return occupiedSlots < event.getMaxParticipants() ? RegistrationStatus.REGISTERED : RegistrationStatus.WAITLIST;
     }
 
-    private void handlePostRegistration(User user, Event event, RegistrationStatus status, List<TeamMember> teamMembers) {
+    private void handlePostRegistration(User user, Event event, RegistrationStatus status, List<User> teammates) {
         boolean isWaitlist = (status == RegistrationStatus.WAITLIST);
 
-        if (teamMembers != null && !teamMembers.isEmpty()) {
-            emailService.sendTeamRegistrationConfirmation(user, teamMembers, event, isWaitlist);
+        if (teammates != null && !teammates.isEmpty()) {
+            emailService.sendTeamRegistrationConfirmation(user, teammates, event, isWaitlist);
         } else {
             if (isWaitlist) {
                 emailService.sendWaitlistConfirmation(user, event);
@@ -656,7 +877,14 @@ public class EventService {
                 .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
     }
 
-    private void verifyHostOwnership(Event event, Long hostId) {
+    // Seat allocations hold the event row lock, so the occupied-slot count they
+    // check cannot change under them (see AttendeeImportService)
+    private Event getEventForUpdateOrThrow(Long eventId) {
+        return eventRepository.findAllByIdForUpdate(List.of(eventId)).stream().findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+    }
+
+    public void verifyHostOwnership(Event event, Long hostId) {
         User host = userRepository.findByIdAndDeletedFalse(hostId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         if (!event.getHost().getId().equals(hostId) && host.getRole() != Role.SUPER_ADMIN) {
@@ -666,8 +894,9 @@ public class EventService {
 
     public EventResponse toResponse(Event event, Optional<Long> currentUserId) {
         long occupiedSlots = countOccupiedSlots(event.getId());
-        Double avgRating = ratingRepository.findAverageRatingByEventId(event.getId());
-        long ratingCount = ratingRepository.countByEventId(event.getId());
+        EventRatingStats ratingStats = ratingStatsRepository.findById(event.getId()).orElse(null);
+        Double avgRating = ratingStats != null ? ratingStats.getAverage() : null;
+        long ratingCount = ratingStats != null ? ratingStats.getRatingCount() : 0;
 
         String userRegStatus = currentUserId
                 .flatMap(uid -> registrationRepository.findByUserIdAndEventId(uid, event.getId()))
@@ -699,14 +928,17 @@ public class EventService {
                 .posterUrl(event.getPosterUrl())
                 .status(event.getStatus())
                 .cardImageUrl(event.getCardImageUrl())
+                .thumbnailUrl(event.getThumbnailUrl())
+                .cardUrl(event.getCardUrl())
+                .heroUrl(event.getHeroUrl())
                 .reminderHours(event.getReminderHours())
                 .hostId(event.getHost() != null ? event.getHost().getId() : null)
                 .hostName(event.getHost() != null ? event.getHost().getName() : "Deleted User")
-                .hostImageUrl(event.getHost() != null ? event.getHost().getProfileImageUrl() : null)
+                .hostImageUrl(event.getHost() != null ? smallProfileImage(event.getHost()) : null)
                 .registrationCount((int) occupiedSlots)
-                .waitlistCount(event.getWaitlistCount())
+                .waitlistCount(registrationRepository.countByEventIdAndStatus(event.getId(), RegistrationStatus.WAITLIST))
                 .availableSeats(Math.max(0, event.getMaxParticipants() - (int) occupiedSlots))
-                .trending(event.isTrending())
+                .trending(trendingService.isTrending(event.getId()))
                 .averageRating(avgRating)
                 .ratingCount(ratingCount)
                 .createdAt(event.getCreatedAt())
@@ -737,9 +969,46 @@ public class EventService {
             fileStorageService.deleteFile(event.getCardImageUrl());
         }
         event.setCardImageUrl(fileUrl);
+        replaceImageVariant(event, ImageDerivativeService.Variant.CARD, null);
+        replaceImageVariant(event, ImageDerivativeService.Variant.THUMBNAIL, null);
         return toResponse(eventRepository.save(event), Optional.empty());
     }
 
+    @Transactional
+    public void applyImageVariants(Long eventId, Map<ImageDerivativeService.Variant, String> variantUrls,
+                                   boolean fromPoster) {
+        // Locked so a card image uploaded while the poster was rendering is seen here
+        Event event = getEventForUpdateOrThrow(eventId);
+        variantUrls.forEach((variant, url) -> {
+            boolean cardOwned = variant == ImageDerivativeService.Variant.CARD
+                    || variant == ImageDerivativeService.Variant.THUMBNAIL;
+            if (fromPoster && cardOwned && event.getCardImageUrl() != null) {
+                fileStorageService.deleteFile(url);
+            } else {
+                replaceImageVariant(event, variant, url);
+            }
+        });
+        eventRepository.save(event);
+    }
+
+    // Sets (or with null, clears) one rendered variant and deletes the file it replaces
+    private void replaceImageVariant(Event event, ImageDerivativeService.Variant variant, String url) {
+        String previous = switch (variant) {
+            case THUMBNAIL -> { String old = event.getThumbnailUrl(); event.setThumbnailUrl(url); yield old; }
+            case CARD -> { String old = event.getCardUrl(); event.setCardUrl(url); yield old; }
+            case HERO -> { String old = event.getHeroUrl(); event.setHeroUrl(url); yield old; }
+            default -> throw new IllegalArgumentException("Not an event image variant: " + variant);
+        };
+        // Released even when it equals url: storing that took a reference of its own
+        if (previous != null) {
+            fileStorageService.deleteFile(previous);
+        }
+    }
+
+    static String smallProfileImage(User user) {
+        return user.getProfileImageThumbUrl() != null ? user.getProfileImageThumbUrl() : user.getProfileImageUrl();
+    }
+
     public record RegistrationResponse(
             Long id, Long userId, String userName,
             Long eventId, String eventTitle,
@@ -750,22 +1019,17 @@ public class EventService {
 
     @Transactional(readOnly = true)
     public Map<String, Object> getMyTeam(Long eventId, Long userId) {
-        // FIXED: Allow users with a PENDING_INVITATION to fetch the team details
-        Registration myReg = registrationRepository.findByUserIdAndEventId(userId, eventId)
-                .orElseThrow(() -> new BusinessException("No registration or invitation found for this event."));
+        // Users with a PENDING_INVITATION may also fetch the team details
+        List<Registration> teamRegs = registrationRepository.findTeamRosterByMember(userId, eventId);
 
-        if (myReg.getTeamName() == null || myReg.getTeamName().isBlank()) {
+        if (teamRegs.isEmpty()) {
+            if (!registrationRepository.existsByEventIdAndUserId(eventId, userId)) {
+                throw new BusinessException("No registration or invitation found for this event.");
+            }
             throw new BusinessException("Not part of a team");
         }
 
-        List<Registration> teamRegs = registrationRepository.findByEventIdAndTeamName(eventId, myReg.getTeamName());
-
         List<Map<String, String>> members = teamRegs.stream()
-                .sorted((r1, r2) -> {
-                    int s1 = r1.getStatus() == RegistrationStatus.PENDING_INVITATION ? 1 : 0;
-                    int s2 = r2.getStatus() == RegistrationStatus.PENDING_INVITATION ? 1 : 0;
-                    return Integer.compare(s1, s2);
-                })
                 .map(r -> {
                     Map<String, String> map = new HashMap<>();
                     map.put("name", r.getUser().getName());
@@ -775,7 +1039,7 @@ public class EventService {
                 }).toList();
 
         Map<String, Object> response = new HashMap<>();
-        response.put("teamName", myReg.getTeamName());
+        response.put("teamName", teamRegs.get(0).getTeamName());
         response.put("members", members);
         return response;
     }
@@ -783,34 +1047,30 @@ public class EventService {
     @Transactional
     public void addTeamMembers(Long eventId, Long userId, List<String> newEmails) {
         Event event = getEventOrThrow(eventId);
-        Registration myReg = registrationRepository.findByUserIdAndEventId(userId, eventId)
+        Registration myReg = registrationRepository.findWithTeamByUserIdAndEventId(userId, eventId)
                 .orElseThrow(() -> new BusinessException("Not registered"));
 
-        List<Registration> currentTeam = registrationRepository.findByEventIdAndTeamName(eventId, myReg.getTeamName());
+        Team team = myReg.getTeam();
+        if (team == null) {
+            throw new BusinessException("Not part of a team");
+        }
 
-        if (currentTeam.size() + newEmails.size() > event.getMaxTeamSize()) {
+        if (team.getTotalSize() + newEmails.size() > event.getMaxTeamSize()) {
             throw new BusinessException("Adding these members exceeds the maximum team size limit of " + event.getMaxTeamSize());
         }
 
-        for (String email : newEmails) {
-            User teammate = userRepository.findByEmailAndDeletedFalse(email)
-                    .orElseThrow(() -> new BusinessException("User " + email + " is not registered on EventHub"));
+        List<User> teammates = resolveUsersByEmail(newEmails, email -> "User " + email + " is not registered on EventHub");
 
-            if (registrationRepository.findByUserIdAndEventId(teammate.getId(), eventId).isPresent()) {
-                throw new BusinessException(email + " is already registered or invited to this event.");
-            }
+        findAlreadyRegistered(eventId, teammates).ifPresent(teammate -> {
+            throw new BusinessException(teammate.getEmail() + " is already registered or invited to this event.");
+        });
 
-            Registration invite = Registration.builder()
-                    .user(teammate)
-                    .event(event)
-                    .status(RegistrationStatus.PENDING_INVITATION)
-                    .teamName(myReg.getTeamName())
-                    .registeredAt(LocalDateTime.now())
-                    .build();
-            registrationRepository.save(invite);
+        List<Long> teammateIds = teammates.stream().map(User::getId).toList();
+        registrationRepository.insertTeamInvitations(eventId, team.getId(), teammateIds);
+        notificationService.createNotifications(teammateIds, "New Team Invite! 📧",
+                myReg.getUser().getName() + " added you to '" + team.getName() + "' for the event: " + event.getTitle());
 
-            notificationService.createNotification(teammate.getId(), "New Team Invite! 📧",
-                    myReg.getUser().getName() + " added you to '" + myReg.getTeamName() + "' for the event: " + event.getTitle());
-        }
+        team.setPendingCount(team.getPendingCount() + teammates.size());
+        teamRepository.save(team);
     }
-}
\ No newline at end of file
+}
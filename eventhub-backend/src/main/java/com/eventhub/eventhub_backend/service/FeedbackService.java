@@ -1,10 +1,13 @@
 package com.eventhub.eventhub_backend.service;
 
 import com.eventhub.eventhub_backend.dto.request.FeedbackRequests;
+import com.eventhub.eventhub_backend.dto.response.CommentPageResponse;
 import com.eventhub.eventhub_backend.dto.response.CommentResponse;
 import com.eventhub.eventhub_backend.dto.response.RatingResponse;
+import com.eventhub.eventhub_backend.dto.response.RatingSummaryResponse;
 import com.eventhub.eventhub_backend.entity.Comment;
 import com.eventhub.eventhub_backend.entity.Event;
+import com.eventhub.eventhub_backend.entity.EventRatingStats;
 import com.eventhub.eventhub_backend.entity.Rating;
 import com.eventhub.eventhub_backend.entity.User;
 import com.eventhub.eventhub_backend.enums.EventStatus;
@@ -12,25 +15,36 @@ import com.eventhub.eventhub_backend.enums.RegistrationStatus;
 import com.eventhub.eventhub_backend.exception.BusinessException;
 import com.eventhub.eventhub_backend.exception.ResourceNotFoundException;
 import com.eventhub.eventhub_backend.repository.CommentRepository;
+import com.eventhub.eventhub_backend.repository.EventRatingStatsRepository;
 import com.eventhub.eventhub_backend.repository.EventRepository;
 import com.eventhub.eventhub_backend.repository.RatingRepository;
 import com.eventhub.eventhub_backend.repository.RegistrationRepository;
 import com.eventhub.eventhub_backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 @Service
 @RequiredArgsConstructor
 public class FeedbackService {
 
     private final CommentRepository commentRepository;
     private final RatingRepository ratingRepository;
+    private final EventRatingStatsRepository ratingStatsRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final RegistrationRepository registrationRepository;
+    private final TrendingService trendingService;
+    private final RecentCommentsCache recentComments;
+    private final ApplicationEventPublisher eventPublisher;
 
     /* ========================= COMMENT ========================= */
 
@@ -53,7 +67,10 @@ public class FeedbackService {
                 .build();
 
         Comment saved = commentRepository.save(comment);
-        return toCommentResponse(saved);
+        trendingService.record(eventId, TrendingService.Activity.COMMENT);
+        CommentResponse response = toCommentResponse(saved);
+        eventPublisher.publishEvent(new CommentPosted(eventId, response));
+        return response;
     }
 
     public Page<CommentResponse> getComments(Long eventId, int page, int size) {
@@ -62,7 +79,40 @@ public class FeedbackService {
                         eventId,
                         PageRequest.of(page, size)
                 )
-                .map(this::toCommentResponse);
+                .map(FeedbackService::toCommentResponse);
+    }
+
+    /**
+     * Newest-first comment feed paged by comment id. The first page of an active
+     * discussion usually comes from {@link RecentCommentsCache} without a query.
+     */
+    @Transactional(readOnly = true)
+    public CommentPageResponse getCommentFeed(Long eventId, Long before, int size) {
+        int pageSize = Math.min(Math.max(size, 1), 100);
+
+        if (before == null) {
+            Optional<CommentPageResponse> cached = recentComments.latest(eventId, pageSize);
+            if (cached.isPresent()) return cached.get();
+        }
+
+        // One extra row tells whether another page follows; the first page also primes the buffer
+        int fetch = before == null ? Math.max(pageSize + 1, recentComments.capacity()) : pageSize + 1;
+        List<CommentResponse> rows = (before == null
+                ? commentRepository.findNewestWithUser(eventId, PageRequest.of(0, fetch))
+                : commentRepository.findOlderWithUser(eventId, before, PageRequest.of(0, fetch)))
+                .stream().map(FeedbackService::toCommentResponse).toList();
+
+        if (before == null) {
+            recentComments.prime(eventId, rows.subList(0, Math.min(rows.size(), recentComments.capacity())));
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<CommentResponse> items = hasNext ? rows.subList(0, pageSize) : rows;
+        return CommentPageResponse.builder()
+                .items(items)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? items.get(items.size() - 1).getId() : null)
+                .build();
     }
 
     /* ========================= RATING ========================= */
@@ -82,7 +132,7 @@ public class FeedbackService {
         }
 
         Rating rating = ratingRepository
-                .findByUserIdAndEventId(userId, eventId)
+                .findByUserIdAndEventIdForUpdate(userId, eventId)
                 .orElseGet(() ->
                         Rating.builder()
                                 .event(event)
@@ -90,12 +140,38 @@ public class FeedbackService {
                                 .build()
                 );
 
+        int previousStars = rating.getStars() != null ? rating.getStars() : 0;
         rating.setStars(request.getStars());
 
         Rating saved = ratingRepository.save(rating);
+        if (previousStars != saved.getStars()) {
+            ratingStatsRepository.applyRatingChange(eventId, previousStars, saved.getStars());
+        }
         return toRatingResponse(saved);
     }
 
+    public RatingSummaryResponse getRatingSummary(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found");
+        }
+        EventRatingStats stats = ratingStatsRepository.findById(eventId)
+                .orElseGet(() -> EventRatingStats.builder().eventId(eventId).build());
+
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        distribution.put(1, stats.getStars1());
+        distribution.put(2, stats.getStars2());
+        distribution.put(3, stats.getStars3());
+        distribution.put(4, stats.getStars4());
+        distribution.put(5, stats.getStars5());
+
+        return RatingSummaryResponse.builder()
+                .eventId(eventId)
+                .averageRating(stats.getAverage())
+                .ratingCount(stats.getRatingCount())
+                .distribution(distribution)
+                .build();
+    }
+
     /* ========================= VALIDATION ========================= */
 
     // 🟢 FIX: Renamed and updated the error message to make sense for upcoming events
@@ -145,12 +221,12 @@ public class FeedbackService {
 
     /* ========================= MAPPERS ========================= */
 
-    private CommentResponse toCommentResponse(Comment c) {
+    static CommentResponse toCommentResponse(Comment c) {
         return CommentResponse.builder()
                 .id(c.getId())
                 .userId(c.getUser().getId())
                 .userName(c.getUser().getName())
-                .userImageUrl(c.getUser().getProfileImageUrl())
+                .userImageUrl(EventService.smallProfileImage(c.getUser()))
                 .message(c.getMessage())
                 .createdAt(c.getCreatedAt())
                 .build();
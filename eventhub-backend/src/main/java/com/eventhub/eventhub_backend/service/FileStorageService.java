@@ -1,57 +1,130 @@
 package com.eventhub.eventhub_backend.service;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
 import com.eventhub.eventhub_backend.exception.BusinessException;
+import com.eventhub.eventhub_backend.repository.PendingDeletionRepository;
+import com.eventhub.eventhub_backend.repository.StoredBlobRepository;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
-import java.util.Map;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
 
+/**
+ * Entry point for image storage; the configured StorageBackend does the actual
+ * work. Stored files are indexed by content hash with a reference count: storing
+ * bytes that are already stored just takes another reference and skips the
+ * backend, and deleting drops a reference. Files nobody references any more are
+ * queued for deletion by a periodic collector after a grace period, so an image
+ * re-uploaded shortly after being replaced is revived instead of uploaded again.
+ * Nothing is deleted from the backend on the request path; StorageCleanupService
+ * works through the queue in batches. A backend that reuses URLs (local storage) can
+ * hand back a file that is still queued; its store, the index update and the
+ * cancellation then share one transaction that holds the queue row's lock, so the
+ * worker either deletes the file before it is re-created or not at all.
+ */
 @Service
+@Slf4j
 public class FileStorageService {
 
-    private final Cloudinary cloudinary;
+    private final StorageBackend storageBackend;
+    private final StoredBlobRepository storedBlobRepository;
+    private final PendingDeletionRepository pendingDeletionRepository;
+    private final SchedulerLeaseService leaseService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration gcGrace;
 
-    // Initialize Cloudinary with your credentials
-    public FileStorageService(
-            @Value("${cloudinary.cloud-name}") String cloudName,
-            @Value("${cloudinary.api-key}") String apiKey,
-            @Value("${cloudinary.api-secret}") String apiSecret) {
-
-        this.cloudinary = new Cloudinary(ObjectUtils.asMap(
-                "cloud_name", cloudName,
-                "api_key", apiKey,
-                "api_secret", apiSecret,
-                "secure", true));
+    public FileStorageService(StorageBackend storageBackend,
+                              StoredBlobRepository storedBlobRepository,
+                              PendingDeletionRepository pendingDeletionRepository,
+                              SchedulerLeaseService leaseService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.storage.gc-grace-minutes:60}") long gcGraceMinutes) {
+        this.storageBackend = storageBackend;
+        this.storedBlobRepository = storedBlobRepository;
+        this.pendingDeletionRepository = pendingDeletionRepository;
+        this.leaseService = leaseService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.gcGrace = Duration.ofMinutes(gcGraceMinutes);
     }
 
-    public String storeFile(MultipartFile file, String folderName) {
-        try {
-            // Uploads to a specific folder in Cloudinary (e.g., eventhub/avatars)
-            Map uploadResult = cloudinary.uploader().upload(file.getBytes(),
-                    ObjectUtils.asMap("folder", "eventhub/" + folderName));
+    public String storeFile(Path file, String folderName) {
+        String hash = sha256(file);
+        Optional<String> existing = storedBlobRepository.acquire(hash);
+        if (existing.isPresent()) {
+            log.debug("Reusing stored image {} for identical upload", existing.get());
+            return existing.get();
+        }
 
-            // Returns the permanent, secure URL
-            return uploadResult.get("secure_url").toString();
+        long size;
+        try {
+            size = Files.size(file);
         } catch (IOException e) {
-            throw new BusinessException("Failed to upload image to Cloudinary");
+            throw new BusinessException("Failed to read the uploaded image");
+        }
+        // Remote uploads stay outside a transaction, so they do not hold a connection
+        return storageBackend.reusesUrls()
+                ? transactionTemplate.execute(status -> storeAndRegister(file, folderName, hash, size))
+                : storeAndRegister(file, folderName, hash, size);
+    }
+
+    private String storeAndRegister(Path file, String folderName, String hash, long size) {
+        String url = storageBackend.store(file, folderName);
+        String registered = storedBlobRepository.register(hash, url, size);
+        if (registered.equals(url)) {
+            // Content-addressed backends may hand out a URL that is still queued from before
+            pendingDeletionRepository.cancel(url);
+        } else {
+            // Lost a race with an identical upload; keep theirs and drop our copy
+            pendingDeletionRepository.enqueue(url);
         }
+        return registered;
     }
 
     public void deleteFile(String fileUrl) {
-        try {
-            // Extracts the public ID from the URL so Cloudinary knows which file to delete
-            String[] parts = fileUrl.split("/");
-            String publicIdWithExtension = parts[parts.length - 1];
-            String folderPath = parts[parts.length - 3] + "/" + parts[parts.length - 2];
-            String publicId = folderPath + "/" + publicIdWithExtension.substring(0, publicIdWithExtension.lastIndexOf('.'));
-
-            cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
-        } catch (Exception e) {
-            System.out.println("Could not delete old image: " + e.getMessage());
+        if (fileUrl == null || fileUrl.isBlank()) return;
+        // Unindexed URLs predate the index and are owned by exactly one reference
+        if (storedBlobRepository.release(fileUrl).isEmpty()) {
+            pendingDeletionRepository.enqueue(fileUrl);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.gc-interval-ms:600000}")
+    public void collectGarbage() {
+        leaseService.runExclusively("collectStoredBlobs", Duration.ofMinutes(10), Duration.ofMinutes(1), () -> {
+            int queued = pendingDeletionRepository.enqueueUnreferencedBlobs(LocalDateTime.now().minus(gcGrace));
+            if (queued > 0) {
+                log.info("Queued {} unreferenced stored images for deletion", queued);
+            }
+        });
+    }
+
+    // Streams the file through the digest; it is never held in memory as a whole
+    private static String sha256(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new BusinessException("Failed to read the uploaded image");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.dto.response.HostAnalyticsResponse;
+import com.eventhub.eventhub_backend.enums.EventStatus;
+import com.eventhub.eventhub_backend.exception.BusinessException;
+import com.eventhub.eventhub_backend.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dashboard figures across all of a host's events, computed by one grouped query
+ * and cached briefly per host and date range. The numbers come from counters and
+ * rollups that are at most a minute old anyway, so a short cache loses nothing.
+ */
+@Service
+public class HostAnalyticsService {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+    private static final int MAX_CACHED_ENTRIES = 1000;
+
+    private record CacheKey(Long hostId, LocalDate from, LocalDate to) {}
+
+    private record CachedResponse(HostAnalyticsResponse response, Instant expiresAt) {}
+
+    private final EventRepository eventRepository;
+    private final Duration cacheTtl;
+    private final Map<CacheKey, CachedResponse> cache = new ConcurrentHashMap<>();
+
+    public HostAnalyticsService(EventRepository eventRepository,
+                                @Value("${app.analytics.host-cache-seconds:60}") long cacheSeconds) {
+        this.eventRepository = eventRepository;
+        this.cacheTtl = Duration.ofSeconds(cacheSeconds);
+    }
+
+    @Transactional(readOnly = true)
+    public HostAnalyticsResponse getHostAnalytics(Long hostId, LocalDate from, LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS - 1);
+        if (start.isAfter(end)) {
+            throw new BusinessException("'from' must not be after 'to'");
+        }
+
+        CacheKey key = new CacheKey(hostId, start, end);
+        CachedResponse cached = cache.get(key);
+        if (cached != null && Instant.now().isBefore(cached.expiresAt())) {
+            return cached.response();
+        }
+
+        HostAnalyticsResponse response = compute(hostId, start, end);
+        if (cache.size() >= MAX_CACHED_ENTRIES) {
+            cache.values().removeIf(entry -> Instant.now().isAfter(entry.expiresAt()));
+        }
+        if (cache.size() < MAX_CACHED_ENTRIES) {
+            cache.put(key, new CachedResponse(response, Instant.now().plus(cacheTtl)));
+        }
+        return response;
+    }
+
+    private HostAnalyticsResponse compute(Long hostId, LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+
+        List<HostAnalyticsResponse.EventSummary> events = new ArrayList<>();
+        long totalOccupied = 0;
+        long totalWaitlist = 0;
+        long totalInRange = 0;
+
+        for (Object[] row : eventRepository.findHostAnalytics(hostId, from, to)) {
+            int maxParticipants = ((Number) row[4]).intValue();
+            long occupied = ((Number) row[5]).longValue();
+            long waitlist = ((Number) row[6]).longValue();
+            long inRange = ((Number) row[9]).longValue();
+            double fill = maxParticipants > 0 ? (occupied * 100.0) / maxParticipants : 0;
+
+            events.add(HostAnalyticsResponse.EventSummary.builder()
+                    .eventId(((Number) row[0]).longValue())
+                    .title((String) row[1])
+                    .status(EventStatus.valueOf((String) row[2]))
+                    .eventDate(toLocalDateTime(row[3]))
+                    .maxParticipants(maxParticipants)
+                    .occupied(occupied)
+                    .fillPercentage(Math.round(fill * 10.0) / 10.0)
+                    .waitlistCount(waitlist)
+                    .averageRating(row[7] != null ? Math.round(((Number) row[7]).doubleValue() * 10.0) / 10.0 : null)
+                    .ratingCount(((Number) row[8]).longValue())
+                    .registrationsInRange(inRange)
+                    .registrationsPerDay(Math.round(inRange * 100.0 / days) / 100.0)
+                    .build());
+
+            totalOccupied += occupied;
+            totalWaitlist += waitlist;
+            totalInRange += inRange;
+        }
+
+        return HostAnalyticsResponse.builder()
+                .from(from)
+                .to(to)
+                .eventCount(events.size())
+                .totalOccupied(totalOccupied)
+                .totalWaitlist(totalWaitlist)
+                .totalRegistrationsInRange(totalInRange)
+                .events(events)
+                .build();
+    }
+
+    // Native scalar results may come back as either type depending on the driver/Hibernate mapping
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp ts) return ts.toLocalDateTime();
+        return (LocalDateTime) value;
+    }
+}
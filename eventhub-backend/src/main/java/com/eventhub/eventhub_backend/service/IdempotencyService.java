@@ -0,0 +1,166 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.entity.IdempotencyRecord;
+import com.eventhub.eventhub_backend.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the response to each Idempotency-Key so a retried request is answered
+ * from memory instead of re-running the mutation. Completed responses are cached
+ * locally; the database row is the fallback for other nodes and the lock that
+ * stops two copies of the same request running at once.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public enum Outcome { PROCEED, REPLAY, IN_PROGRESS, KEY_REUSED }
+
+    public record StoredResponse(String requestPath, String fingerprint, int status, String contentType,
+                                 byte[] body, LocalDateTime expiresAt) {
+        boolean isExpired() {
+            return LocalDateTime.now().isAfter(expiresAt);
+        }
+    }
+
+    public record Decision(Outcome outcome, StoredResponse response) {
+        static Decision of(Outcome outcome) {
+            return new Decision(outcome, null);
+        }
+    }
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final SchedulerLeaseService leaseService;
+    private final Map<String, StoredResponse> cache = new ConcurrentHashMap<>();
+
+    private final Duration ttl;
+    private final Duration inFlightLock;
+    private final int maxCachedEntries;
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              SchedulerLeaseService leaseService,
+                              @Value("${app.idempotency.ttl-minutes:60}") long ttlMinutes,
+                              @Value("${app.idempotency.in-flight-lock-seconds:60}") long inFlightLockSeconds,
+                              @Value("${app.idempotency.max-cached-entries:10000}") int maxCachedEntries) {
+        this.recordRepository = recordRepository;
+        this.leaseService = leaseService;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.inFlightLock = Duration.ofSeconds(inFlightLockSeconds);
+        this.maxCachedEntries = maxCachedEntries;
+    }
+
+    // Identifies the request a key was first used for, so a reused key with a different body is refused
+    public static String fingerprint(String method, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(method.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public Decision begin(String key, String requestPath, String fingerprint) {
+        StoredResponse cached = cache.get(key);
+        if (cached != null && !cached.isExpired()) {
+            return replayOrMismatch(cached, requestPath, fingerprint);
+        }
+
+        if (recordRepository.tryReserve(key, requestPath, fingerprint, inFlightLock.toMillis() / 1000.0) == 1) {
+            return Decision.of(Outcome.PROCEED);
+        }
+
+        // Another request holds the key: either still running or already finished on some node
+        Optional<IdempotencyRecord> record = recordRepository.findById(key);
+        if (record.isEmpty()) {
+            // Purged between the two statements; the client can simply retry
+            return Decision.of(Outcome.IN_PROGRESS);
+        }
+
+        IdempotencyRecord r = record.get();
+        if (!sameRequest(r.getRequestPath(), r.getRequestFingerprint(), requestPath, fingerprint)) {
+            return Decision.of(Outcome.KEY_REUSED);
+        }
+        if (r.getStatusCode() == null) {
+            return Decision.of(Outcome.IN_PROGRESS);
+        }
+
+        StoredResponse stored = new StoredResponse(r.getRequestPath(), r.getRequestFingerprint(),
+                r.getStatusCode(), r.getContentType(),
+                r.getResponseBody() != null ? r.getResponseBody().getBytes(StandardCharsets.UTF_8) : new byte[0],
+                r.getExpiresAt());
+        remember(key, stored);
+        return new Decision(Outcome.REPLAY, stored);
+    }
+
+    public void complete(String key, String requestPath, String fingerprint, int status, String contentType,
+                         byte[] body) {
+        try {
+            recordRepository.complete(key, status, contentType,
+                    new String(body, StandardCharsets.UTF_8), ttl.toMillis() / 1000.0);
+            remember(key, new StoredResponse(requestPath, fingerprint, status, contentType, body,
+                    LocalDateTime.now().plus(ttl)));
+        } catch (Exception e) {
+            // Not fatal: the in-flight row expires and a retry runs normally
+            log.warn("Could not store idempotent response for key {}: {}", key, e.getMessage());
+        }
+    }
+
+    // Frees the key after a server error so the client's retry is processed again
+    public void abandon(String key) {
+        cache.remove(key);
+        try {
+            recordRepository.deleteById(key);
+        } catch (Exception e) {
+            log.warn("Could not release idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelay = 600_000)
+    public void purgeExpired() {
+        cache.values().removeIf(StoredResponse::isExpired);
+        leaseService.runExclusively("purgeIdempotencyKeys", Duration.ofMinutes(5), Duration.ofMinutes(1), () -> {
+            int removed = recordRepository.purgeExpired();
+            if (removed > 0) {
+                log.info("Purged {} expired idempotency keys", removed);
+            }
+        });
+    }
+
+    private Decision replayOrMismatch(StoredResponse stored, String requestPath, String fingerprint) {
+        if (!sameRequest(stored.requestPath(), stored.fingerprint(), requestPath, fingerprint)) {
+            return Decision.of(Outcome.KEY_REUSED);
+        }
+        return new Decision(Outcome.REPLAY, stored);
+    }
+
+    // Rows stored before fingerprints were recorded are matched on the path alone
+    private static boolean sameRequest(String storedPath, String storedFingerprint,
+                                       String requestPath, String fingerprint) {
+        return storedPath.equals(requestPath)
+                && (storedFingerprint == null || Objects.equals(storedFingerprint, fingerprint));
+    }
+
+    // The local cache is bounded; past the limit the database alone serves replays
+    private void remember(String key, StoredResponse response) {
+        if (cache.size() < maxCachedEntries || cache.containsKey(key)) {
+            cache.put(key, response);
+        }
+    }
+}
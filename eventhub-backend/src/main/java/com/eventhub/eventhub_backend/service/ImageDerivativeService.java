@@ -0,0 +1,193 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Renders fixed-size variants of an uploaded image with plain ImageIO, so list
+ * views can load a few kilobytes instead of the original. Large sources are
+ * subsampled while decoding, so a 10 MB photo never becomes a full-resolution
+ * bitmap on the heap. Variants are written as WebP when an ImageIO WebP writer is
+ * on the classpath, JPEG otherwise.
+ */
+@Service
+@Slf4j
+public class ImageDerivativeService {
+
+    private static final float QUALITY = 0.82f;
+
+    public enum Variant {
+        // Cropped to exactly fill the box
+        THUMBNAIL(320, 180, true),
+        CARD(640, 360, true),
+        AVATAR(96, 96, true),
+        // Scaled to fit inside the box, never enlarged
+        HERO(1600, 900, false);
+
+        final int width;
+        final int height;
+        final boolean crop;
+
+        Variant(int width, int height, boolean crop) {
+            this.width = width;
+            this.height = height;
+            this.crop = crop;
+        }
+    }
+
+    private final String outputFormat = ImageIO.getImageWritersByFormatName("webp").hasNext() ? "webp" : "jpeg";
+    private final long maxSourcePixels;
+
+    public ImageDerivativeService(@Value("${app.upload.max-source-pixels:50000000}") long maxSourcePixels) {
+        this.maxSourcePixels = maxSourcePixels;
+    }
+
+    /**
+     * Renders the requested variants to temp files. The caller stores and then
+     * deletes them.
+     */
+    public Map<Variant, Path> render(Path source, Set<Variant> variants) {
+        if (variants.isEmpty()) return Map.of();
+
+        int maxWidth = variants.stream().mapToInt(v -> v.width).max().orElseThrow();
+        int maxHeight = variants.stream().mapToInt(v -> v.height).max().orElseThrow();
+        BufferedImage image = decode(source, maxWidth, maxHeight);
+
+        Map<Variant, Path> rendered = new EnumMap<>(Variant.class);
+        try {
+            for (Variant variant : variants) {
+                rendered.put(variant, encode(resize(image, variant)));
+            }
+        } catch (IOException e) {
+            rendered.values().forEach(ImageDerivativeService::deleteQuietly);
+            throw new BusinessException("Failed to generate image variants");
+        }
+        return rendered;
+    }
+
+    private BufferedImage decode(Path source, int targetWidth, int targetHeight) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                throw new BusinessException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                // Checked from the header, before any pixel is decoded
+                if ((long) width * height > maxSourcePixels) {
+                    throw new BusinessException("Image dimensions are too large");
+                }
+
+                // Skip pixels while decoding, so neither side ends up much past the largest variant
+                int step = Math.max(1, Math.max(width / targetWidth, height / targetHeight));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new BusinessException("Could not read the uploaded image");
+        }
+    }
+
+    private static BufferedImage resize(BufferedImage source, Variant variant) {
+        int sw = source.getWidth();
+        int sh = source.getHeight();
+
+        // Source region and output size
+        int cx = 0, cy = 0, cw = sw, ch = sh;
+        int outW, outH;
+        if (variant.crop) {
+            double scale = Math.max((double) variant.width / sw, (double) variant.height / sh);
+            cw = (int) Math.round(variant.width / scale);
+            ch = (int) Math.round(variant.height / scale);
+            cx = (sw - cw) / 2;
+            cy = (sh - ch) / 2;
+            outW = variant.width;
+            outH = variant.height;
+        } else {
+            double scale = Math.min(1.0, Math.min((double) variant.width / sw, (double) variant.height / sh));
+            outW = Math.max(1, (int) Math.round(sw * scale));
+            outH = Math.max(1, (int) Math.round(sh * scale));
+        }
+
+        BufferedImage current = source.getSubimage(cx, cy, cw, ch);
+        int w = cw;
+        int h = ch;
+        // Halve in steps first: a single large bilinear jump skips most source pixels
+        while (w / 2 >= outW && h / 2 >= outH) {
+            w /= 2;
+            h /= 2;
+            current = draw(current, w, h);
+        }
+        return draw(current, outW, outH);
+    }
+
+    // Always RGB on white, which also flattens transparency for JPEG
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage out = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private Path encode(BufferedImage image) throws IOException {
+        Path target = Files.createTempFile("eventhub-variant-", "." + outputFormat);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(outputFormat).next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            deleteQuietly(target);
+            throw e;
+        } finally {
+            writer.dispose();
+        }
+        return target;
+    }
+
+    static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temp image {}: {}", path, e.getMessage());
+        }
+    }
+}
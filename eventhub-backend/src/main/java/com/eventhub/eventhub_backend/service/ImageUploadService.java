@@ -0,0 +1,252 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.dto.response.UploadJobResponse;
+import com.eventhub.eventhub_backend.entity.Event;
+import com.eventhub.eventhub_backend.entity.UploadJob;
+import com.eventhub.eventhub_backend.enums.UploadStatus;
+import com.eventhub.eventhub_backend.enums.UploadTarget;
+import com.eventhub.eventhub_backend.exception.BusinessException;
+import com.eventhub.eventhub_backend.exception.DependencyUnavailableException;
+import com.eventhub.eventhub_backend.exception.ResourceNotFoundException;
+import com.eventhub.eventhub_backend.exception.TooManyRequestsException;
+import com.eventhub.eventhub_backend.repository.EventRepository;
+import com.eventhub.eventhub_backend.repository.UploadJobRepository;
+import com.eventhub.eventhub_backend.service.ImageDerivativeService.Variant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+/**
+ * Accepts poster, card and avatar images without holding the request thread for
+ * the remote upload. The multipart body is spooled to a temp file (moved, not
+ * copied, when the container already wrote it to disk), a job row is created and
+ * the request returns 202 with the job id. A bounded worker pool then uploads the
+ * file, points the event or user at the new URL, renders the smaller variants
+ * list views use, and notifies the owner.
+ */
+@Service
+@Slf4j
+public class ImageUploadService {
+
+    private final UploadJobRepository uploadJobRepository;
+    private final EventRepository eventRepository;
+    private final EventService eventService;
+    private final AuthService authService;
+    private final FileStorageService fileStorageService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final NotificationService notificationService;
+    private final SchedulerLeaseService leaseService;
+    private final Executor uploadExecutor;
+
+    public ImageUploadService(UploadJobRepository uploadJobRepository,
+                              EventRepository eventRepository,
+                              EventService eventService,
+                              AuthService authService,
+                              FileStorageService fileStorageService,
+                              ImageDerivativeService imageDerivativeService,
+                              NotificationService notificationService,
+                              SchedulerLeaseService leaseService,
+                              @Qualifier("uploadTaskExecutor") Executor uploadExecutor) {
+        this.uploadJobRepository = uploadJobRepository;
+        this.eventRepository = eventRepository;
+        this.eventService = eventService;
+        this.authService = authService;
+        this.fileStorageService = fileStorageService;
+        this.imageDerivativeService = imageDerivativeService;
+        this.notificationService = notificationService;
+        this.leaseService = leaseService;
+        this.uploadExecutor = uploadExecutor;
+    }
+
+    public UploadJobResponse submit(UploadTarget target, Long targetId, Long ownerId, MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new BusinessException("Please choose an image to upload");
+        }
+        if (file.getContentType() == null || !file.getContentType().startsWith("image/")) {
+            throw new BusinessException("Only image files can be uploaded");
+        }
+        // Fail fast on permissions; the worker checks again when it applies the result
+        if (target != UploadTarget.USER_AVATAR) {
+            Event event = eventRepository.findById(targetId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + targetId));
+            eventService.verifyHostOwnership(event, ownerId);
+        }
+
+        Path spooled;
+        try {
+            spooled = Files.createTempFile("eventhub-upload-", ".img");
+            file.transferTo(spooled);
+        } catch (IOException e) {
+            throw new BusinessException("Failed to receive the uploaded file");
+        }
+
+        UploadJob job = uploadJobRepository.save(UploadJob.builder()
+                .ownerId(ownerId)
+                .target(target)
+                .targetId(targetId)
+                .originalFilename(file.getOriginalFilename())
+                .build());
+
+        try {
+            uploadExecutor.execute(() -> process(job.getId(), spooled));
+        } catch (TaskRejectedException e) {
+            deleteQuietly(spooled);
+            uploadJobRepository.delete(job);
+            throw new TooManyRequestsException("Too many uploads in progress. Please try again shortly.", 30);
+        }
+        return toResponse(job);
+    }
+
+    public UploadJobResponse getJob(Long jobId, Long ownerId) {
+        return uploadJobRepository.findByIdAndOwnerId(jobId, ownerId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload not found with id: " + jobId));
+    }
+
+    private void process(Long jobId, Path spooled) {
+        UploadJob job = uploadJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            deleteQuietly(spooled);
+            return;
+        }
+        uploadJobRepository.updateStatus(jobId, UploadStatus.PROCESSING);
+
+        String url = null;
+        boolean attached = false;
+        try {
+            url = fileStorageService.storeFile(spooled, folderFor(job.getTarget()));
+            switch (job.getTarget()) {
+                case EVENT_POSTER -> eventService.uploadPoster(job.getTargetId(), job.getOwnerId(), url);
+                case EVENT_CARD -> eventService.uploadCardImage(job.getTargetId(), job.getOwnerId(), url);
+                case USER_AVATAR -> authService.updateProfileImage(job.getTargetId(), url);
+            }
+            attached = true;
+            renderVariants(job, spooled);
+
+            job.setStatus(UploadStatus.COMPLETED);
+            job.setResultUrl(url);
+            job.setCompletedAt(LocalDateTime.now());
+            uploadJobRepository.save(job);
+            notificationService.createNotification(job.getOwnerId(), "Upload complete",
+                    "Your " + describe(job.getTarget()) + " has been uploaded.");
+        } catch (Exception e) {
+            log.warn("Upload job {} failed: {}", jobId, e.getMessage());
+            // Uploaded but could not be attached (event deleted, ownership changed...). Once
+            // attached, the event or user owns the only reference; releasing it here
+            // would let the collector delete the live image.
+            if (url != null && !attached) fileStorageService.deleteFile(url);
+
+            job.setStatus(UploadStatus.FAILED);
+            job.setError(e instanceof BusinessException || e instanceof ResourceNotFoundException
+                    || e instanceof DependencyUnavailableException ? e.getMessage() : "Upload failed");
+            job.setCompletedAt(LocalDateTime.now());
+            uploadJobRepository.save(job);
+            notificationService.createNotification(job.getOwnerId(), "Upload failed",
+                    "Your " + describe(job.getTarget()) + " could not be uploaded. Please try again.");
+        } finally {
+            deleteQuietly(spooled);
+        }
+    }
+
+    // Best effort: until variants exist clients fall back to the original image
+    private void renderVariants(UploadJob job, Path spooled) {
+        Set<Variant> variants = variantsFor(job);
+        Map<Variant, Path> files = Map.of();
+        Map<Variant, String> urls = new EnumMap<>(Variant.class);
+        try {
+            files = imageDerivativeService.render(spooled, variants);
+            for (Map.Entry<Variant, Path> file : files.entrySet()) {
+                urls.put(file.getKey(), fileStorageService.storeFile(file.getValue(),
+                        folderFor(job.getTarget()) + "/" + file.getKey().name().toLowerCase()));
+            }
+            if (job.getTarget() == UploadTarget.USER_AVATAR) {
+                authService.updateProfileImageThumb(job.getTargetId(), urls.get(Variant.AVATAR));
+            } else {
+                eventService.applyImageVariants(job.getTargetId(), urls,
+                        job.getTarget() == UploadTarget.EVENT_POSTER);
+            }
+        } catch (Exception e) {
+            log.warn("Could not render image variants for upload job {}: {}", job.getId(), e.getMessage());
+            urls.values().forEach(fileStorageService::deleteFile);
+        } finally {
+            files.values().forEach(ImageDerivativeService::deleteQuietly);
+        }
+    }
+
+    // Card and thumbnail come from the card image; a poster only supplies them while there is none
+    private Set<Variant> variantsFor(UploadJob job) {
+        return switch (job.getTarget()) {
+            case USER_AVATAR -> EnumSet.of(Variant.AVATAR);
+            case EVENT_CARD -> EnumSet.of(Variant.CARD, Variant.THUMBNAIL);
+            case EVENT_POSTER -> eventRepository.findById(job.getTargetId())
+                    .filter(event -> event.getCardImageUrl() == null)
+                    .map(event -> EnumSet.of(Variant.HERO, Variant.CARD, Variant.THUMBNAIL))
+                    .orElse(EnumSet.of(Variant.HERO));
+        };
+    }
+
+    @Scheduled(fixedDelay = 600_000)
+    public void cleanUpJobs() {
+        leaseService.runExclusively("cleanUpUploadJobs", Duration.ofMinutes(5), Duration.ofMinutes(5), () -> {
+            LocalDateTime now = LocalDateTime.now();
+            int stale = uploadJobRepository.failStale(List.of(UploadStatus.PENDING, UploadStatus.PROCESSING),
+                    now.minusMinutes(30), "Upload was interrupted", now);
+            int purged = uploadJobRepository.deleteFinishedBefore(now.minusDays(7));
+            if (stale > 0 || purged > 0) {
+                log.info("Upload jobs: {} interrupted marked failed, {} old removed", stale, purged);
+            }
+        });
+    }
+
+    private static String folderFor(UploadTarget target) {
+        return switch (target) {
+            case EVENT_POSTER -> "posters";
+            case EVENT_CARD -> "cards";
+            case USER_AVATAR -> "avatars";
+        };
+    }
+
+    private static String describe(UploadTarget target) {
+        return switch (target) {
+            case EVENT_POSTER -> "event poster";
+            case EVENT_CARD -> "event card image";
+            case USER_AVATAR -> "profile picture";
+        };
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete spooled upload {}: {}", path, e.getMessage());
+        }
+    }
+
+    private UploadJobResponse toResponse(UploadJob job) {
+        return UploadJobResponse.builder()
+                .id(job.getId())
+                .target(job.getTarget())
+                .targetId(job.getTargetId())
+                .status(job.getStatus())
+                .url(job.getResultUrl())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
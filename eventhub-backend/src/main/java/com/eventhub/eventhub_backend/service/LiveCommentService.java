@@ -0,0 +1,188 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.dto.response.CommentResponse;
+import com.eventhub.eventhub_backend.entity.Comment;
+import com.eventhub.eventhub_backend.exception.ResourceNotFoundException;
+import com.eventhub.eventhub_backend.repository.CommentRepository;
+import com.eventhub.eventhub_backend.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes new comments of an event's discussion to open SSE connections. Each
+ * comment is serialized into a complete SSE frame once and that frame is queued to
+ * every subscriber. Every connection has its own bounded queue drained by a pool
+ * task, so one slow client never delays the others; a client that falls a full
+ * queue behind is disconnected and catches up on reconnect from its last comment
+ * id. Subscriptions are node-local, like the registration live stream.
+ */
+@Service
+@Slf4j
+public class LiveCommentService {
+
+    private static final long EMITTER_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+    private static final int MAX_CATCH_UP = 200;
+
+    private static final class Subscriber {
+        final SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    private final EventRepository eventRepository;
+    private final CommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
+    private final Executor fanoutExecutor;
+    private final int queueCapacity;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public LiveCommentService(EventRepository eventRepository,
+                              CommentRepository commentRepository,
+                              ObjectMapper objectMapper,
+                              @Qualifier("commentFanoutExecutor") Executor fanoutExecutor,
+                              @Value("${app.comments.live.queue-capacity:100}") int queueCapacity) {
+        this.eventRepository = eventRepository;
+        this.commentRepository = commentRepository;
+        this.objectMapper = objectMapper;
+        this.fanoutExecutor = fanoutExecutor;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Opens a stream of "comment" events, each carrying the comment id as SSE id.
+     * With {@code sinceId} (or the browser's Last-Event-ID) the comments posted after
+     * it are replayed first; if too many were missed a "reset" event tells the client
+     * to reload the feed instead.
+     */
+    @Transactional(readOnly = true)
+    public SseEmitter subscribe(Long eventId, Long sinceId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+
+        // Registered before the catch-up query so nothing posted in between is lost;
+        // the overlap can repeat a comment, which clients drop by id
+        Subscriber subscriber = new Subscriber(queueCapacity);
+        subscribers.computeIfAbsent(eventId, id -> new CopyOnWriteArraySet<>()).add(subscriber);
+        subscriber.emitter.onCompletion(() -> unsubscribe(eventId, subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(eventId, subscriber));
+        subscriber.emitter.onError(e -> unsubscribe(eventId, subscriber));
+
+        if (sinceId != null) {
+            List<Comment> missed = commentRepository.findNewerWithUser(
+                    eventId, sinceId, PageRequest.of(0, MAX_CATCH_UP + 1));
+            if (missed.size() > MAX_CATCH_UP) {
+                enqueue(eventId, subscriber, SseEmitter.event().name("reset").data("{}", MediaType.APPLICATION_JSON).build());
+            } else {
+                for (Comment c : missed) {
+                    Set<ResponseBodyEmitter.DataWithMediaType> frame = frame(FeedbackService.toCommentResponse(c));
+                    if (frame != null) enqueue(eventId, subscriber, frame);
+                }
+            }
+        }
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentPosted(CommentPosted posted) {
+        Set<Subscriber> targets = subscribers.get(posted.eventId());
+        if (targets == null || targets.isEmpty()) return;
+
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = frame(posted.comment());
+        if (frame == null) return;
+        for (Subscriber subscriber : targets) {
+            enqueue(posted.eventId(), subscriber, frame);
+        }
+    }
+
+    // Keeps idle connections open through proxies that drop silent streams
+    @Scheduled(fixedRate = 25_000)
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("keep-alive").build();
+        subscribers.forEach((eventId, targets) -> targets.forEach(s -> enqueue(eventId, s, ping)));
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> frame(CommentResponse comment) {
+        try {
+            return SseEmitter.event()
+                    .id(String.valueOf(comment.getId()))
+                    .name("comment")
+                    .data(objectMapper.writeValueAsString(comment), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (Exception e) {
+            log.warn("Could not serialize comment {}: {}", comment.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void enqueue(Long eventId, Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        if (!subscriber.queue.offer(frame)) {
+            // Too far behind: drop the connection rather than buffer without bound
+            unsubscribe(eventId, subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        scheduleDrain(eventId, subscriber);
+    }
+
+    private void scheduleDrain(Long eventId, Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) return;
+        try {
+            fanoutExecutor.execute(() -> drain(eventId, subscriber));
+        } catch (Exception e) {
+            subscriber.draining.set(false);
+            log.warn("Comment fan-out rejected for event {}: {}", eventId, e.getMessage());
+        }
+    }
+
+    private void drain(Long eventId, Subscriber subscriber) {
+        try {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            while ((frame = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(frame);
+            }
+        } catch (Exception e) {
+            unsubscribe(eventId, subscriber);
+            subscriber.queue.clear();
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // A frame queued after the last poll but before the flag was cleared
+        if (!subscriber.queue.isEmpty()) {
+            scheduleDrain(eventId, subscriber);
+        }
+    }
+
+    private void unsubscribe(Long eventId, Subscriber subscriber) {
+        subscribers.computeIfPresent(eventId, (id, targets) -> {
+            targets.remove(subscriber);
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+}
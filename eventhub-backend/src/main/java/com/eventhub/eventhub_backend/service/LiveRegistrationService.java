@@ -0,0 +1,192 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.entity.Event;
+import com.eventhub.eventhub_backend.enums.RegistrationStatus;
+import com.eventhub.eventhub_backend.exception.ResourceNotFoundException;
+import com.eventhub.eventhub_backend.repository.EventRepository;
+import com.eventhub.eventhub_backend.repository.RegistrationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes registration deltas to host dashboards over SSE. Activity published by
+ * the services is accumulated per event and flushed at most every 500 ms, and each
+ * flush is built into an SSE frame once and queued to every open dashboard of that
+ * event. As with the live comment stream, each connection has its own bounded queue
+ * drained on a dedicated executor, so the scheduler thread never writes to a socket
+ * and one slow dashboard delays nobody else; one that falls a full queue behind is
+ * disconnected and gets a fresh snapshot when it reconnects.
+ * Subscriptions and deltas are node-local: a dashboard sees the activity handled
+ * by the node it is connected to, plus a fresh snapshot whenever it reconnects.
+ */
+@Service
+@Slf4j
+public class LiveRegistrationService {
+
+    private static final long EMITTER_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+    // Deltas arrive at most twice a second, so this is about half a minute of backlog
+    private static final int QUEUE_CAPACITY = 64;
+
+    private static final class Subscriber {
+        final SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        final Queue<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        final AtomicBoolean draining = new AtomicBoolean();
+    }
+
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final EventService eventService;
+    private final ObjectMapper objectMapper;
+    private final Executor fanoutExecutor;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, EnumMap<RegistrationActivity.Kind, Integer>> pending = new ConcurrentHashMap<>();
+
+    public LiveRegistrationService(EventRepository eventRepository,
+                                   RegistrationRepository registrationRepository,
+                                   EventService eventService,
+                                   ObjectMapper objectMapper,
+                                   @Qualifier("registrationFanoutExecutor") Executor fanoutExecutor) {
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+        this.eventService = eventService;
+        this.objectMapper = objectMapper;
+        this.fanoutExecutor = fanoutExecutor;
+    }
+
+    @Transactional(readOnly = true)
+    public SseEmitter subscribe(Long eventId, Long hostId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+        eventService.verifyHostOwnership(event, hostId);
+
+        Subscriber subscriber = new Subscriber();
+        subscribers.computeIfAbsent(eventId, id -> new CopyOnWriteArraySet<>()).add(subscriber);
+        subscriber.emitter.onCompletion(() -> unsubscribe(eventId, subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(eventId, subscriber));
+        subscriber.emitter.onError(e -> unsubscribe(eventId, subscriber));
+
+        // Baseline so the dashboard can apply the deltas that follow
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("eventId", eventId);
+        snapshot.put("occupied", registrationRepository.countOccupiedSlots(eventId));
+        snapshot.put("waitlist", registrationRepository.countByEventIdAndStatus(eventId, RegistrationStatus.WAITLIST));
+        snapshot.put("maxParticipants", event.getMaxParticipants());
+        snapshot.put("at", LocalDateTime.now());
+        enqueue(eventId, subscriber, SseEmitter.event().name("snapshot")
+                .data(objectMapper.writeValueAsString(snapshot), MediaType.APPLICATION_JSON).build());
+        return subscriber.emitter;
+    }
+
+    // Only after commit, so dashboards never show a registration that was rolled back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onActivity(RegistrationActivity activity) {
+        if (activity.count() <= 0 || !subscribers.containsKey(activity.eventId())) return;
+
+        pending.compute(activity.eventId(), (id, counts) -> {
+            if (counts == null) counts = new EnumMap<>(RegistrationActivity.Kind.class);
+            counts.merge(activity.kind(), activity.count(), Integer::sum);
+            return counts;
+        });
+    }
+
+    @Scheduled(fixedRate = 500)
+    public void flush() {
+        for (Long eventId : pending.keySet()) {
+            EnumMap<RegistrationActivity.Kind, Integer> counts = pending.remove(eventId);
+            Set<Subscriber> targets = subscribers.get(eventId);
+            if (counts == null || targets == null || targets.isEmpty()) continue;
+
+            Map<String, Object> delta = new LinkedHashMap<>();
+            delta.put("eventId", eventId);
+            for (RegistrationActivity.Kind kind : RegistrationActivity.Kind.values()) {
+                delta.put(kind.name().toLowerCase(), counts.getOrDefault(kind, 0));
+            }
+            delta.put("at", LocalDateTime.now());
+
+            String json;
+            try {
+                json = objectMapper.writeValueAsString(delta);
+            } catch (Exception e) {
+                log.warn("Could not serialize registration delta for event {}: {}", eventId, e.getMessage());
+                continue;
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> frame =
+                    SseEmitter.event().name("delta").data(json, MediaType.APPLICATION_JSON).build();
+            targets.forEach(subscriber -> enqueue(eventId, subscriber, frame));
+        }
+    }
+
+    // Keeps idle connections open through proxies that drop silent streams
+    @Scheduled(fixedRate = 25_000)
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("keep-alive").build();
+        subscribers.forEach((eventId, targets) -> targets.forEach(s -> enqueue(eventId, s, ping)));
+    }
+
+    private void enqueue(Long eventId, Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        if (!subscriber.queue.offer(frame)) {
+            // Too far behind: drop the connection; it resyncs from a snapshot on reconnect
+            unsubscribe(eventId, subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        scheduleDrain(eventId, subscriber);
+    }
+
+    private void scheduleDrain(Long eventId, Subscriber subscriber) {
+        if (!subscriber.draining.compareAndSet(false, true)) return;
+        try {
+            fanoutExecutor.execute(() -> drain(eventId, subscriber));
+        } catch (Exception e) {
+            subscriber.draining.set(false);
+            log.warn("Registration fan-out rejected for event {}: {}", eventId, e.getMessage());
+        }
+    }
+
+    private void drain(Long eventId, Subscriber subscriber) {
+        try {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            while ((frame = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(frame);
+            }
+        } catch (Exception e) {
+            unsubscribe(eventId, subscriber);
+            subscriber.queue.clear();
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // A frame queued after the last poll but before the flag was cleared
+        if (!subscriber.queue.isEmpty()) {
+            scheduleDrain(eventId, subscriber);
+        }
+    }
+
+    private void unsubscribe(Long eventId, Subscriber subscriber) {
+        subscribers.computeIfPresent(eventId, (id, targets) -> {
+            targets.remove(subscriber);
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+}
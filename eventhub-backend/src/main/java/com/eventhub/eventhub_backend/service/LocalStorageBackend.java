@@ -0,0 +1,119 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.exception.BusinessException;
+import com.eventhub.eventhub_backend.repository.PendingDeletionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Stores images under app.file-upload.dir, served by UploadsController. Files are
+ * named by the SHA-256 of their content ({folder}/{hash}.{ext}), so a path never
+ * changes content and can be cached forever; identical uploads share one file.
+ * Because a path can come back while it is still queued for deletion, the queue row
+ * is locked before the file is reused or moved into place.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local")
+@Slf4j
+public class LocalStorageBackend implements StorageBackend {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+    private final String baseUrl;
+    private final PendingDeletionRepository pendingDeletionRepository;
+
+    public LocalStorageBackend(@Value("${app.file-upload.dir}") String uploadDir,
+                               @Value("${app.storage.local.base-url}") String baseUrl,
+                               PendingDeletionRepository pendingDeletionRepository) {
+        this.root = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.pendingDeletionRepository = pendingDeletionRepository;
+    }
+
+    @Override
+    public boolean reusesUrls() {
+        return true;
+    }
+
+    @Override
+    public String store(Path file, String folderName) {
+        try {
+            Path folder = Files.createDirectories(root.resolve(folderName).normalize());
+            Path temp = Files.createTempFile(folder, ".incoming-", ".tmp");
+            try {
+                // Hash while copying, so the file is read once
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                byte[] head = null;
+                try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ);
+                     FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    while (in.read(buffer) != -1) {
+                        buffer.flip();
+                        if (head == null) {
+                            head = new byte[Math.min(16, buffer.remaining())];
+                            buffer.duplicate().get(head);
+                        }
+                        digest.update(buffer.duplicate());
+                        while (buffer.hasRemaining()) out.write(buffer);
+                        buffer.clear();
+                    }
+                    out.force(true);
+                }
+
+                String name = HexFormat.of().formatHex(digest.digest()) + "." + extensionOf(head);
+                String url = baseUrl + "/" + folderName + "/" + name;
+                // Held until FileStorageService has re-registered the URL and cancelled the
+                // row, so StorageCleanupService cannot delete the file in between. Only
+                // after this can Files.exists be trusted.
+                pendingDeletionRepository.lockByUrl(url);
+
+                Path target = folder.resolve(name);
+                if (Files.exists(target)) {
+                    Files.delete(temp);
+                } else {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return url;
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("Local image store failed: {}", e.getMessage());
+            throw new BusinessException("Failed to store image");
+        }
+    }
+
+    @Override
+    public void deleteAll(List<String> fileUrls) throws IOException {
+        for (String fileUrl : fileUrls) {
+            if (!fileUrl.startsWith(baseUrl + "/")) continue;
+            Path path = root.resolve(fileUrl.substring(baseUrl.length() + 1)).normalize();
+            if (path.startsWith(root)) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    // The file name comes from the bytes, not from what the client claimed
+    private static String extensionOf(byte[] head) {
+        if (head == null || head.length < 4) return "bin";
+        if ((head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8) return "jpg";
+        if ((head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') return "png";
+        if (head[0] == 'G' && head[1] == 'I' && head[2] == 'F') return "gif";
+        if (head.length >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') return "webp";
+        return "bin";
+    }
+}
@@ -13,6 +13,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
@@ -32,6 +34,13 @@ public class NotificationService {
         notificationRepository.save(notification);
     }
 
+    // Same notification for many users: one INSERT ... SELECT instead of a round trip per user
+    @Transactional
+    public void createNotifications(Collection<Long> userIds, String title, String message) {
+        if (userIds.isEmpty()) return;
+        notificationRepository.insertForUsers(userIds, title, message);
+    }
+
     public Page<NotificationResponse> getNotifications(Long userId, int page, int size) {
         return notificationRepository
                 .findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(page, size))
@@ -0,0 +1,111 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.dto.response.CommentPageResponse;
+import com.eventhub.eventhub_backend.dto.response.CommentResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Keeps the newest comments of recently active discussions in memory so the first
+ * page of a busy discussion needs no query. Each event holds a fixed-size buffer,
+ * newest first; new comments are added after commit and the oldest fall off.
+ * A buffer is only served once it has been primed from the database, and only for
+ * a short time after that, so edits made elsewhere (profile names, other nodes'
+ * comments) show up within the TTL.
+ */
+@Service
+public class RecentCommentsCache {
+
+    private static final int MAX_EVENTS = 500;
+
+    private static final class Buffer {
+        // Newest first, ids descending, at most capacity entries
+        final ArrayDeque<CommentResponse> comments = new ArrayDeque<>();
+        Instant primedAt;
+    }
+
+    private final int capacity;
+    private final Duration ttl;
+
+    // Access-ordered, so the least recently used discussion is dropped first
+    private final Map<Long, Buffer> buffers = Collections.synchronizedMap(
+            new LinkedHashMap<>(64, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Buffer> eldest) {
+                    return size() > MAX_EVENTS;
+                }
+            });
+
+    public RecentCommentsCache(@Value("${app.comments.recent-buffer-size:50}") int capacity,
+                               @Value("${app.comments.recent-buffer-ttl-seconds:60}") long ttlSeconds) {
+        this.capacity = capacity;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /** The first page of the feed, or empty when the buffer cannot answer it on its own. */
+    public Optional<CommentPageResponse> latest(Long eventId, int size) {
+        Buffer buffer = buffers.get(eventId);
+        if (buffer == null) return Optional.empty();
+
+        synchronized (buffer) {
+            if (buffer.primedAt == null || Instant.now().isAfter(buffer.primedAt.plus(ttl))) {
+                return Optional.empty();
+            }
+            // A buffer that is not full holds the whole discussion
+            boolean complete = buffer.comments.size() < capacity;
+            if (!complete && size >= buffer.comments.size()) return Optional.empty();
+
+            List<CommentResponse> page = buffer.comments.stream().limit(size).toList();
+            boolean hasNext = buffer.comments.size() > size;
+            return Optional.of(CommentPageResponse.builder()
+                    .items(page)
+                    .hasNext(hasNext)
+                    .nextCursor(hasNext ? page.get(page.size() - 1).getId() : null)
+                    .build());
+        }
+    }
+
+    /** Stores the newest comments read from the database, newest first. */
+    public void prime(Long eventId, List<CommentResponse> newestFirst) {
+        Buffer buffer = buffers.computeIfAbsent(eventId, id -> new Buffer());
+        synchronized (buffer) {
+            // Comments appended while the query ran are kept, duplicates dropped
+            TreeMap<Long, CommentResponse> merged = new TreeMap<>(Comparator.reverseOrder());
+            for (CommentResponse c : buffer.comments) merged.put(c.getId(), c);
+            for (CommentResponse c : newestFirst) merged.put(c.getId(), c);
+
+            buffer.comments.clear();
+            merged.values().stream().limit(capacity).forEach(buffer.comments::addLast);
+            buffer.primedAt = Instant.now();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentPosted(CommentPosted posted) {
+        Buffer buffer = buffers.computeIfAbsent(posted.eventId(), id -> new Buffer());
+        synchronized (buffer) {
+            CommentResponse first = buffer.comments.peekFirst();
+            if (first == null || first.getId() < posted.comment().getId()) {
+                buffer.comments.addFirst(posted.comment());
+                if (buffer.comments.size() > capacity) buffer.comments.removeLast();
+            } else {
+                // Commits can land out of id order; the next prime sorts it out
+                buffer.primedAt = null;
+            }
+        }
+    }
+
+    // Comments were deleted (account removal); cheaper to re-prime than to search
+    public void evictAll() {
+        buffers.clear();
+    }
+}
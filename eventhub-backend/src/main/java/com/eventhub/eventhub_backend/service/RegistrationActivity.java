@@ -0,0 +1,13 @@
+package com.eventhub.eventhub_backend.service;
+
+/**
+ * Published whenever registrations of an event change state. Listeners receive
+ * it after the surrounding transaction commits.
+ *
+ * @param count number of registrations affected; for TEAM_COMPLETED and PROMOTED,
+ *              the number of seats (a team takes one)
+ */
+public record RegistrationActivity(Long eventId, Kind kind, int count) {
+
+    public enum Kind { REGISTERED, WAITLISTED, TEAM_COMPLETED, PROMOTED }
+}
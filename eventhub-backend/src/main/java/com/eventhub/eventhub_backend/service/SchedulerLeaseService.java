@@ -0,0 +1,73 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.repository.SchedulerLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final String instanceId;
+
+    public SchedulerLeaseService(SchedulerLeaseRepository leaseRepository) {
+        this.leaseRepository = leaseRepository;
+        this.instanceId = resolveHostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Runs the task only if this node wins the lease for the job.
+     *
+     * @param lockAtMostFor  how long the lease survives if this node dies mid-run
+     * @param lockAtLeastFor minimum hold time, covering clock drift between node ticks
+     * @return true if the task ran on this node
+     */
+    public boolean runExclusively(String jobName, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable task) {
+        if (!tryAcquire(jobName, lockAtMostFor)) {
+            log.debug("Skipping job '{}': lease held by another node", jobName);
+            return false;
+        }
+
+        try {
+            task.run();
+            return true;
+        } finally {
+            release(jobName, lockAtLeastFor);
+        }
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    private boolean tryAcquire(String jobName, Duration ttl) {
+        try {
+            return leaseRepository.tryAcquire(jobName, instanceId, ttl.toMillis() / 1000.0) == 1;
+        } catch (Exception e) {
+            log.error("Could not acquire lease for job '{}': {}", jobName, e.getMessage());
+            return false;
+        }
+    }
+
+    private void release(String jobName, Duration minHold) {
+        try {
+            leaseRepository.release(jobName, instanceId, minHold.toMillis() / 1000.0);
+        } catch (Exception e) {
+            // The lease will still expire on its own after lockAtMostFor
+            log.warn("Could not release lease for job '{}': {}", jobName, e.getMessage());
+        }
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown-host";
+        }
+    }
+}
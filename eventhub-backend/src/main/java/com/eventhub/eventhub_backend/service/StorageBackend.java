@@ -0,0 +1,32 @@
+package com.eventhub.eventhub_backend.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Where uploaded images live. Exactly one implementation is active, chosen with
+ * {@code app.storage.backend} ({@code cloudinary} by default, or {@code local}).
+ */
+public interface StorageBackend {
+
+    /** Stores the file under the given folder and returns its public URL. */
+    String store(Path file, String folderName);
+
+    /**
+     * True when identical content always gets the same URL, so {@link #store} can hand
+     * back a file that is queued for deletion. FileStorageService then runs the store
+     * in a transaction, and the backend must lock the queue row before it reuses or
+     * re-creates the file (see {@code PendingDeletionRepository.lockByUrl}).
+     */
+    default boolean reusesUrls() {
+        return false;
+    }
+
+    /**
+     * Removes files previously returned by {@link #store}, in as few calls as the
+     * backend allows. URLs it does not own, or that are already gone, are skipped.
+     * Throws if the batch may not have been deleted; it is then retried as a whole.
+     */
+    void deleteAll(List<String> fileUrls) throws IOException;
+}
@@ -0,0 +1,119 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.entity.PendingDeletion;
+import com.eventhub.eventhub_backend.repository.PendingDeletionRepository;
+import com.eventhub.eventhub_backend.repository.StoredBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Works through pending_deletions: claims a batch of due rows, removes the files
+ * from the storage backend in one bulk call and drops the rows. A failed batch is
+ * rescheduled with exponential backoff and given up on after a number of attempts.
+ * Rows are claimed with SKIP LOCKED, so every node can run the worker without
+ * two of them deleting the same file.
+ */
+@Service
+@Slf4j
+public class StorageCleanupService {
+
+    private static final Duration FIRST_RETRY = Duration.ofSeconds(30);
+    private static final Duration MAX_RETRY = Duration.ofHours(6);
+
+    private final PendingDeletionRepository pendingDeletionRepository;
+    private final StoredBlobRepository storedBlobRepository;
+    private final StorageBackend storageBackend;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    public StorageCleanupService(PendingDeletionRepository pendingDeletionRepository,
+                                 StoredBlobRepository storedBlobRepository,
+                                 StorageBackend storageBackend,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.storage.deletion.batch-size:100}") int batchSize,
+                                 @Value("${app.storage.deletion.max-attempts:10}") int maxAttempts) {
+        this.pendingDeletionRepository = pendingDeletionRepository;
+        this.storedBlobRepository = storedBlobRepository;
+        this.storageBackend = storageBackend;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.deletion.interval-ms:15000}")
+    public void processQueue() {
+        int deleted = 0;
+        Integer processed;
+        do {
+            processed = transactionTemplate.execute(status -> processBatch());
+            if (processed == null || processed < 0) break;
+            deleted += processed;
+        } while (processed == batchSize);
+
+        if (deleted > 0) {
+            log.info("Deleted {} replaced images from storage", deleted);
+        }
+    }
+
+    // Returns the number of rows completed, or -1 when the batch failed and was rescheduled
+    private int processBatch() {
+        List<PendingDeletion> batch = pendingDeletionRepository.claimDue(batchSize);
+        if (batch.isEmpty()) return 0;
+
+        // A URL can be indexed again if identical content was re-stored after it was queued
+        Set<String> inUse = new HashSet<>(storedBlobRepository.findIndexedUrls(
+                batch.stream().map(PendingDeletion::getUrl).toList()));
+        List<String> urls = new ArrayList<>(batch.size());
+        for (PendingDeletion row : batch) {
+            if (!inUse.contains(row.getUrl())) urls.add(row.getUrl());
+        }
+
+        try {
+            if (!urls.isEmpty()) {
+                storageBackend.deleteAll(urls);
+            }
+        } catch (Exception e) {
+            reschedule(batch, e);
+            return -1;
+        }
+
+        pendingDeletionRepository.deleteByIds(batch.stream().map(PendingDeletion::getId).toList());
+        return batch.size();
+    }
+
+    private void reschedule(List<PendingDeletion> batch, Exception cause) {
+        String error = cause.getMessage() != null && cause.getMessage().length() > 1000
+                ? cause.getMessage().substring(0, 1000)
+                : cause.getMessage();
+
+        List<Long> abandoned = new ArrayList<>();
+        for (PendingDeletion row : batch) {
+            int attempts = row.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                log.error("Giving up on deleting {} after {} attempts: {}", row.getUrl(), attempts, error);
+                abandoned.add(row.getId());
+                continue;
+            }
+            Duration backoff = FIRST_RETRY.multipliedBy(1L << Math.min(attempts - 1, 20));
+            row.setAttempts(attempts);
+            row.setNextAttemptAt(LocalDateTime.now().plus(backoff.compareTo(MAX_RETRY) > 0 ? MAX_RETRY : backoff));
+            row.setLastError(error);
+        }
+        if (!abandoned.isEmpty()) {
+            pendingDeletionRepository.deleteByIds(abandoned);
+        }
+        log.warn("Could not delete {} stored images, will retry: {}", batch.size(), error);
+    }
+}
@@ -0,0 +1,231 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.entity.EventTrendingScore;
+import com.eventhub.eventhub_backend.repository.EventTrendingScoreRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Ranks events by recent activity. Each registration, unique view or comment adds a
+ * weight that halves every half-life, so the score behaves like a sliding window
+ * that favours the last few hours without hard cut-offs.
+ *
+ * Scores are kept as log2(score) relative to a fixed epoch. Because every score
+ * decays at the same rate, the ranking never changes on its own: only new activity
+ * moves an event, which lets the ranking be maintained incrementally in a sorted
+ * index instead of being recomputed. Local deltas are merged into
+ * event_trending_scores periodically and the index is reloaded, so every node ranks
+ * on the activity of all nodes.
+ */
+@Service
+@Slf4j
+public class TrendingService {
+
+    public enum Activity {
+        VIEW(1), COMMENT(3), REGISTRATION(5);
+
+        private final double weight;
+
+        Activity(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+    private static final int INDEX_CAPACITY = 1000;
+
+    // log2-sum merge of two epoch-scaled scores, evaluated in the database. Stays in
+    // double precision (two-argument LOG only exists for numeric), and the exponent is
+    // clamped because float8 EXP raises on underflow; 2^-60 is below rounding anyway.
+    private static final String MERGE_DELTA = """
+            INSERT INTO event_trending_scores (event_id, log_score, updated_at)
+            VALUES (?, ?, LOCALTIMESTAMP)
+            ON CONFLICT (event_id) DO UPDATE
+            SET log_score = GREATEST(event_trending_scores.log_score, EXCLUDED.log_score)
+                    + LN(1 + EXP(LN(2.0) * GREATEST(-60,
+                            LEAST(event_trending_scores.log_score, EXCLUDED.log_score)
+                            - GREATEST(event_trending_scores.log_score, EXCLUDED.log_score)))) / LN(2.0),
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private record Ranked(double logScore, long eventId) {}
+
+    private static final Comparator<Ranked> BY_SCORE_DESC =
+            Comparator.comparingDouble(Ranked::logScore).reversed().thenComparingLong(Ranked::eventId);
+
+    private final EventTrendingScoreRepository scoreRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerLeaseService leaseService;
+    private final double halfLifeHours;
+    private final int topK;
+    private final double minScore;
+
+    // Guarded by "this": the ranking index and the scores it is built from
+    private final Map<Long, Double> logScores = new HashMap<>();
+    private final TreeSet<Ranked> ranking = new TreeSet<>(BY_SCORE_DESC);
+    // Activity not yet merged into the database
+    private final Map<Long, Double> pendingDeltas = new HashMap<>();
+
+    public TrendingService(EventTrendingScoreRepository scoreRepository,
+                           JdbcTemplate jdbcTemplate,
+                           SchedulerLeaseService leaseService,
+                           @Value("${app.trending.half-life-hours:6}") double halfLifeHours,
+                           @Value("${app.trending.top-k:20}") int topK,
+                           @Value("${app.trending.min-score:10}") double minScore) {
+        this.scoreRepository = scoreRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseService = leaseService;
+        this.halfLifeHours = halfLifeHours;
+        this.topK = topK;
+        this.minScore = minScore;
+    }
+
+    @PostConstruct
+    void loadScores() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Could not load trending scores: {}", e.getMessage());
+        }
+    }
+
+    public void record(Long eventId, Activity activity) {
+        record(eventId, activity, 1);
+    }
+
+    public synchronized void record(Long eventId, Activity activity, int times) {
+        if (times <= 0) return;
+        double delta = Math.log(activity.weight * times) / Math.log(2) + epochHalfLives();
+        pendingDeltas.merge(eventId, delta, TrendingService::logSum);
+        apply(eventId, delta);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationActivity(RegistrationActivity activity) {
+        if (activity.kind() == RegistrationActivity.Kind.REGISTERED
+                || activity.kind() == RegistrationActivity.Kind.WAITLISTED) {
+            record(activity.eventId(), Activity.REGISTRATION, activity.count());
+        }
+    }
+
+    // Drops a deleted event from the index and from activity not yet merged
+    public synchronized void forget(Long eventId) {
+        pendingDeltas.remove(eventId);
+        Double score = logScores.remove(eventId);
+        if (score != null) {
+            ranking.remove(new Ranked(score, eventId));
+        }
+    }
+
+    /** Event ids with the highest current score, best first. */
+    public synchronized List<Long> topEventIds(int limit) {
+        double floor = minLogScoreNow();
+        List<Long> ids = new ArrayList<>();
+        for (Ranked r : ranking) {
+            if (ids.size() >= limit || r.logScore() < floor) break;
+            ids.add(r.eventId());
+        }
+        return ids;
+    }
+
+    public synchronized boolean isTrending(Long eventId) {
+        Double score = logScores.get(eventId);
+        if (score == null || score < minLogScoreNow()) return false;
+
+        // Within the first topK entries of the index
+        Ranked kth = null;
+        int i = 0;
+        for (Ranked r : ranking) {
+            kth = r;
+            if (++i >= topK) break;
+        }
+        return kth == null || BY_SCORE_DESC.compare(new Ranked(score, eventId), kth) <= 0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.trending.sync-interval-ms:30000}")
+    public void sync() {
+        Map<Long, Double> deltas;
+        synchronized (this) {
+            deltas = new HashMap<>(pendingDeltas);
+            pendingDeltas.clear();
+        }
+
+        if (!deltas.isEmpty()) {
+            List<Object[]> batch = new ArrayList<>(deltas.size());
+            deltas.forEach((eventId, logDelta) -> batch.add(new Object[]{eventId, logDelta}));
+            try {
+                jdbcTemplate.batchUpdate(MERGE_DELTA, batch);
+            } catch (Exception e) {
+                synchronized (this) {
+                    deltas.forEach((eventId, logDelta) -> pendingDeltas.merge(eventId, logDelta, TrendingService::logSum));
+                }
+                log.warn("Could not persist trending deltas: {}", e.getMessage());
+                return;
+            }
+        }
+
+        reload();
+
+        // Decayed scores can never climb back without new activity, so they are safe to drop
+        leaseService.runExclusively("purgeTrendingScores", Duration.ofMinutes(5), Duration.ofMinutes(5),
+                () -> scoreRepository.deleteDecayedBelow(minLogScoreNow() - 10));
+    }
+
+    // Rebuilds the index from the merged database scores plus activity recorded since
+    private void reload() {
+        List<EventTrendingScore> stored = scoreRepository.findTopScores(
+                minLogScoreNow() - 10, PageRequest.of(0, INDEX_CAPACITY));
+
+        synchronized (this) {
+            logScores.clear();
+            ranking.clear();
+            for (EventTrendingScore s : stored) {
+                logScores.put(s.getEventId(), s.getLogScore());
+                ranking.add(new Ranked(s.getLogScore(), s.getEventId()));
+            }
+            pendingDeltas.forEach(this::apply);
+        }
+    }
+
+    private void apply(Long eventId, double logDelta) {
+        Double previous = logScores.get(eventId);
+        if (previous != null) {
+            ranking.remove(new Ranked(previous, eventId));
+        }
+        double updated = previous == null ? logDelta : logSum(previous, logDelta);
+        logScores.put(eventId, updated);
+        ranking.add(new Ranked(updated, eventId));
+
+        // Keep the index bounded; the tail can only be events nobody is interacting with
+        while (ranking.size() > INDEX_CAPACITY) {
+            Ranked last = ranking.pollLast();
+            logScores.remove(last.eventId());
+        }
+    }
+
+    private double epochHalfLives() {
+        double hours = Duration.between(EPOCH, Instant.now()).toMillis() / 3_600_000.0;
+        return hours / halfLifeHours;
+    }
+
+    // log2 of the minimum score, expressed on the epoch scale used for stored scores
+    private double minLogScoreNow() {
+        return Math.log(minScore) / Math.log(2) + epochHalfLives();
+    }
+
+    private static double logSum(double a, double b) {
+        double hi = Math.max(a, b);
+        double lo = Math.min(a, b);
+        return hi + Math.log1p(Math.pow(2, lo - hi)) / Math.log(2);
+    }
+}
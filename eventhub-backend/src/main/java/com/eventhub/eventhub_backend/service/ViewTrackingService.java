@@ -0,0 +1,120 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.util.BloomFilter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts event page views without touching the database on the request path.
+ * Views go into striped in-memory counters; a viewer is counted as unique once per
+ * dedupe window using a pair of rotating Bloom filters. Every few seconds the
+ * accumulated deltas are added to event_views in one batched upsert. Each node
+ * flushes only its own deltas, so the totals add up across nodes.
+ */
+@Service
+@Slf4j
+public class ViewTrackingService {
+
+    // Skips events deleted since the views were counted, so their row is not recreated
+    private static final String UPSERT_VIEWS = """
+            INSERT INTO event_views (event_id, total_views, unique_views, updated_at)
+            SELECT ?, ?, ?, LOCALTIMESTAMP
+            WHERE EXISTS (SELECT 1 FROM events WHERE id = ?)
+            ON CONFLICT (event_id) DO UPDATE
+            SET total_views = event_views.total_views + EXCLUDED.total_views,
+                unique_views = event_views.unique_views + EXCLUDED.unique_views,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TrendingService trendingService;
+    private final int expectedViewers;
+    private final Duration dedupeWindow;
+
+    private final Map<Long, LongAdder> views = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> uniqueViews = new ConcurrentHashMap<>();
+
+    // A key counts as seen if it is in either filter; rotating every window keeps
+    // memory fixed while remembering viewers for between one and two windows.
+    private volatile BloomFilter currentViewers;
+    private volatile BloomFilter previousViewers;
+    private volatile Instant rotatedAt = Instant.now();
+
+    public ViewTrackingService(JdbcTemplate jdbcTemplate,
+                               TrendingService trendingService,
+                               @Value("${app.views.expected-viewers-per-window:200000}") int expectedViewers,
+                               @Value("${app.views.dedupe-window-minutes:60}") long dedupeWindowMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.trendingService = trendingService;
+        this.expectedViewers = expectedViewers;
+        this.dedupeWindow = Duration.ofMinutes(dedupeWindowMinutes);
+        this.currentViewers = new BloomFilter(expectedViewers, 0.01);
+        this.previousViewers = new BloomFilter(expectedViewers, 0.01);
+    }
+
+    public void recordView(Long eventId, String viewerKey) {
+        views.computeIfAbsent(eventId, id -> new LongAdder()).increment();
+
+        String key = eventId + "|" + viewerKey;
+        if (!previousViewers.mightContain(key) && currentViewers.put(key)) {
+            uniqueViews.computeIfAbsent(eventId, id -> new LongAdder()).increment();
+            trendingService.record(eventId, TrendingService.Activity.VIEW);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.views.flush-interval-ms:5000}")
+    public void flush() {
+        rotateIfDue();
+
+        List<Object[]> batch = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : views.entrySet()) {
+            long total = entry.getValue().sumThenReset();
+            LongAdder unique = uniqueViews.get(entry.getKey());
+            long uniques = unique != null ? unique.sumThenReset() : 0;
+            if (total == 0 && uniques == 0) {
+                // Idle since the last flush; drop the counters so memory tracks active events only.
+                // Removed only while still zero, so a view recorded meanwhile is kept.
+                views.computeIfPresent(entry.getKey(), (k, a) -> a.sum() == 0 ? null : a);
+                uniqueViews.computeIfPresent(entry.getKey(), (k, a) -> a.sum() == 0 ? null : a);
+                continue;
+            }
+            batch.add(new Object[]{entry.getKey(), total, uniques, entry.getKey()});
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_VIEWS, batch);
+        } catch (Exception e) {
+            // Put the deltas back so the next flush retries them
+            for (Object[] row : batch) {
+                views.computeIfAbsent((Long) row[0], id -> new LongAdder()).add((Long) row[1]);
+                uniqueViews.computeIfAbsent((Long) row[0], id -> new LongAdder()).add((Long) row[2]);
+            }
+            log.warn("Could not flush view counters for {} events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void rotateIfDue() {
+        if (Instant.now().isBefore(rotatedAt.plus(dedupeWindow))) return;
+        previousViewers = currentViewers;
+        currentViewers = new BloomFilter(expectedViewers, 0.01);
+        rotatedAt = Instant.now();
+    }
+}
@@ -0,0 +1,125 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.entity.Event;
+import com.eventhub.eventhub_backend.entity.Registration;
+import com.eventhub.eventhub_backend.entity.User;
+import com.eventhub.eventhub_backend.enums.EventStatus;
+import com.eventhub.eventhub_backend.enums.RegistrationStatus;
+import com.eventhub.eventhub_backend.repository.EventRepository;
+import com.eventhub.eventhub_backend.repository.RegistrationRepository;
+import com.eventhub.eventhub_backend.repository.TeamRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitlistPromotionService {
+
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final TeamRepository teamRepository;
+    private final EmailService emailService;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public int promote(Long eventId) {
+        return promote(List.of(eventId));
+    }
+
+    /**
+     * Fills every free seat of the given events from their waitlists, oldest first.
+     * A waitlisted team is promoted as a whole and uses one seat, matching how
+     * occupied slots are counted. Returns the number of registrations promoted.
+     */
+    @Transactional
+    public int promote(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) return 0;
+
+        // Lock the events so a concurrent promotion cannot hand out the same seats
+        List<Event> events = eventRepository.findAllByIdForUpdate(new TreeSet<>(eventIds));
+
+        Map<Long, Long> occupiedByEvent = new HashMap<>();
+        for (Object[] row : registrationRepository.countOccupiedSlotsByEventIds(eventIds)) {
+            occupiedByEvent.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+
+        Map<Long, LinkedHashMap<String, List<Registration>>> queues = groupWaitlistUnits(
+                registrationRepository.findWaitlistByEventIdsOrdered(eventIds));
+
+        List<Long> promotedIds = new ArrayList<>();
+        Set<Long> promotedTeamIds = new HashSet<>();
+        Map<Event, List<User>> promotedByEvent = new LinkedHashMap<>();
+        // Seats handed out per event; a team is one seat however many members it has
+        Map<Long, Integer> seatsByEvent = new HashMap<>();
+
+        for (Event event : events) {
+            if (event.getStatus() == EventStatus.SUSPENDED || event.getStatus() == EventStatus.COMPLETED) continue;
+
+            long occupied = occupiedByEvent.getOrDefault(event.getId(), 0L);
+            long freeSlots = event.getMaxParticipants() - occupied;
+            LinkedHashMap<String, List<Registration>> units = queues.getOrDefault(event.getId(), new LinkedHashMap<>());
+
+            List<User> promotedUsers = new ArrayList<>();
+            int seats = 0;
+            Iterator<List<Registration>> it = units.values().iterator();
+            while (freeSlots > 0 && it.hasNext()) {
+                for (Registration reg : it.next()) {
+                    if (reg.getTeam() != null) promotedTeamIds.add(reg.getTeam().getId());
+                    promotedIds.add(reg.getId());
+                    promotedUsers.add(reg.getUser());
+                }
+                freeSlots--;
+                occupied++;
+                seats++;
+            }
+
+            event.setStatus(occupied >= event.getMaxParticipants() ? EventStatus.FULL : EventStatus.ACTIVE);
+            if (!promotedUsers.isEmpty()) {
+                promotedByEvent.put(event, promotedUsers);
+                seatsByEvent.put(event.getId(), seats);
+            }
+        }
+
+        if (promotedIds.isEmpty()) return 0;
+
+        registrationRepository.updateStatusByIds(promotedIds, RegistrationStatus.REGISTERED);
+        if (!promotedTeamIds.isEmpty()) {
+            teamRepository.updateStatusByIds(promotedTeamIds, RegistrationStatus.REGISTERED);
+        }
+
+        promotedByEvent.forEach((event, users) -> {
+            emailService.sendWaitlistPromotionBatch(users, event);
+            notificationService.createNotifications(
+                    users.stream().map(User::getId).toList(),
+                    "You got a spot! 🎊",
+                    "You've been promoted from the waitlist for: " + event.getTitle());
+            int seats = seatsByEvent.get(event.getId());
+            eventPublisher.publishEvent(new RegistrationActivity(event.getId(), RegistrationActivity.Kind.PROMOTED, seats));
+            log.info("Promoted {} registrations ({} seats) from waitlist for event {}", users.size(), seats, event.getId());
+        });
+
+        return promotedIds.size();
+    }
+
+    // Input is ordered by event and registeredAt, so the first time a team or
+    // solo registration shows up is its place in the queue.
+    private Map<Long, LinkedHashMap<String, List<Registration>>> groupWaitlistUnits(List<Registration> waitlist) {
+        Map<Long, LinkedHashMap<String, List<Registration>>> queues = new HashMap<>();
+        for (Registration reg : waitlist) {
+            String unitKey = reg.getTeam() != null
+                    ? "t:" + reg.getTeam().getId()
+                    : "u:" + reg.getId();
+            queues.computeIfAbsent(reg.getEvent().getId(), id -> new LinkedHashMap<>())
+                    .computeIfAbsent(unitKey, k -> new ArrayList<>())
+                    .add(reg);
+        }
+        return queues;
+    }
+}
@@ -0,0 +1,211 @@
+package com.eventhub.eventhub_backend.util;
+
+import com.eventhub.eventhub_backend.exception.DependencyUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps every call to one external service (Cloudinary, SMTP...) so that a slow or
+ * failing provider only costs the threads reserved for it.
+ *
+ * - Bulkhead: at most maxConcurrent calls run at once; a caller waits up to
+ *   maxWait for a slot and is then turned away.
+ * - Slow calls: the guard does not interrupt a running call; it is bounded only by
+ *   the client's own connect/socket timeouts, which are configured separately. A call
+ *   that completes but takes longer than slowCallThreshold counts as a failure.
+ * - Circuit breaker: after failureThreshold consecutive failures the guard rejects
+ *   calls immediately for openDuration, then lets a single probe through. The probe
+ *   closes the circuit if it succeeds and re-opens it if it fails.
+ *
+ * Rejections throw DependencyUnavailableException. Calls, rejections, in-flight
+ * calls and the circuit state are published per dependency to Micrometer.
+ */
+@Slf4j
+public class DependencyGuard {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    @FunctionalInterface
+    public interface Action<E extends Exception> {
+        void run() throws E;
+    }
+
+    private final String name;
+    private final String description;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final Duration maxWait;
+    private final Duration slowCallThreshold;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private final Timer succeeded;
+    private final Timer failed;
+    private final Timer slow;
+    private final Counter rejectedBusy;
+    private final Counter rejectedOpen;
+
+    // Guarded by "this"
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openUntil = Instant.MIN;
+    private boolean probeInFlight;
+
+    // name tags the metrics and logs; description is shown to users when a call is rejected
+    public DependencyGuard(String name, String description, int maxConcurrent, Duration maxWait,
+                           Duration slowCallThreshold, int failureThreshold, Duration openDuration,
+                           MeterRegistry meterRegistry) {
+        this(name, description, maxConcurrent, maxWait, slowCallThreshold, failureThreshold, openDuration,
+                meterRegistry, Clock.systemUTC());
+    }
+
+    DependencyGuard(String name, String description, int maxConcurrent, Duration maxWait,
+                    Duration slowCallThreshold, int failureThreshold, Duration openDuration,
+                    MeterRegistry meterRegistry, Clock clock) {
+        this.name = name;
+        this.description = description;
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxWait = maxWait;
+        this.slowCallThreshold = slowCallThreshold;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+
+        this.succeeded = callTimer(meterRegistry, "success");
+        this.failed = callTimer(meterRegistry, "failure");
+        this.slow = callTimer(meterRegistry, "slow");
+        this.rejectedBusy = rejectionCounter(meterRegistry, "bulkhead");
+        this.rejectedOpen = rejectionCounter(meterRegistry, "circuit_open");
+        Gauge.builder("eventhub.dependency.in_flight", permits, p -> this.maxConcurrent - p.availablePermits())
+                .description("Calls to the dependency currently running")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        Gauge.builder("eventhub.dependency.circuit_state", this, guard -> guard.getState().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .tag("dependency", name)
+                .register(meterRegistry);
+    }
+
+    public <T, E extends Exception> T call(Call<T, E> call) throws E {
+        boolean probe = admit();
+        try {
+            if (!permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                release(probe);
+                rejectedBusy.increment();
+                throw new DependencyUnavailableException(description + " is busy. Please try again shortly.", 1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            release(probe);
+            throw new DependencyUnavailableException(description + " call was interrupted", 1);
+        }
+
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            T result = call.call();
+            ok = true;
+            return result;
+        } finally {
+            permits.release();
+            long elapsed = System.nanoTime() - start;
+            boolean fast = elapsed <= slowCallThreshold.toNanos();
+            (ok ? (fast ? succeeded : slow) : failed).record(elapsed, TimeUnit.NANOSECONDS);
+            complete(probe, ok && fast);
+        }
+    }
+
+    public <E extends Exception> void run(Action<E> action) throws E {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    // Returns true when the caller is the half-open probe
+    private synchronized boolean admit() {
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openUntil)) {
+                rejectedOpen.increment();
+                throw unavailable();
+            }
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                rejectedOpen.increment();
+                throw unavailable();
+            }
+            probeInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    private synchronized void release(boolean probe) {
+        if (probe) probeInFlight = false;
+    }
+
+    private synchronized void complete(boolean probe, boolean success) {
+        if (probe) probeInFlight = false;
+
+        if (success) {
+            consecutiveFailures = 0;
+            if (probe && state == State.HALF_OPEN) {
+                state = State.CLOSED;
+                log.info("{} recovered; circuit closed", name);
+            }
+            return;
+        }
+
+        consecutiveFailures++;
+        if (probe || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openUntil = clock.instant().plus(openDuration);
+            log.warn("{} failed {} times in a row; circuit open for {}s",
+                    name, consecutiveFailures, openDuration.toSeconds());
+        }
+    }
+
+    private DependencyUnavailableException unavailable() {
+        long retryAfter = Math.max(1, Duration.between(clock.instant(), openUntil).toSeconds());
+        return new DependencyUnavailableException(
+                description + " is temporarily unavailable. Please try again later.", retryAfter);
+    }
+
+    private Timer callTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("eventhub.dependency.calls")
+                .description("Calls to external services by outcome")
+                .tag("dependency", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("eventhub.dependency.rejected")
+                .description("Calls turned away without reaching the external service")
+                .tag("dependency", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,7 @@
+-- Not on spring.flyway.locations yet: move this file to db/migration in a release
+-- after the one that introduced the teams table, once
+--   * DataBackfillRunner no longer logs registrations with a team_name but no team, and
+--   * no running node is on a release that still reads registrations.team_name.
+-- Runs before Hibernate, so it must tolerate a fresh, empty database.
+ALTER TABLE IF EXISTS registrations DROP COLUMN IF EXISTS team_name;
+DROP TABLE IF EXISTS team_members;
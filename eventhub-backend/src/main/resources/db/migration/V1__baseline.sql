@@ -0,0 +1,2 @@
+-- Baseline. Everything up to this point was created by Hibernate (ddl-auto=update);
+-- existing databases are marked as V1 without running this script.
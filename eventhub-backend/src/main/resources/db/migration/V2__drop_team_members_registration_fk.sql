@@ -0,0 +1,20 @@
+-- team_members is no longer mapped, so nothing removes its rows along with the leader's
+-- registration any more, and the foreign key Hibernate created for the old cascade
+-- makes every such delete fail (account deletion, event deletion, re-registration,
+-- leaving a team). Drop the key and keep the rows: they are the legacy data that
+-- V3__drop_legacy_team_columns (db/migration-next) removes together with the table.
+-- Runs before Hibernate, so it must tolerate a fresh, empty database.
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    IF to_regclass('team_members') IS NULL THEN
+        RETURN;
+    END IF;
+    FOR fk IN
+        SELECT conname FROM pg_constraint
+        WHERE conrelid = 'team_members'::regclass AND contype = 'f'
+    LOOP
+        EXECUTE format('ALTER TABLE team_members DROP CONSTRAINT %I', fk.conname);
+    END LOOP;
+END $$;
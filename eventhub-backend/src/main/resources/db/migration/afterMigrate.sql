@@ -0,0 +1,10 @@
+-- Flyway callback, run after every migrate. Versioned migrations run before Hibernate
+-- creates the tables, so on a brand-new database these objects appear on the next start.
+
+-- Case-insensitive email lookups (UserRepository.findIdAndLowerEmailByLowerEmailIn)
+DO $$
+BEGIN
+    IF to_regclass('users') IS NOT NULL THEN
+        CREATE INDEX IF NOT EXISTS idx_users_lower_email ON users (LOWER(email));
+    END IF;
+END $$;
@@ -0,0 +1,28 @@
+package com.eventhub.eventhub_backend;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread, so a test can
+ * assert how many round trips a service call makes without picking up statements
+ * from scheduled jobs running in the background. Enable it with
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<Integer> COUNT = ThreadLocal.withInitial(() -> 0);
+
+    public static void reset() {
+        COUNT.set(0);
+    }
+
+    public static int count() {
+        return COUNT.get();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.set(COUNT.get() + 1);
+        return sql;
+    }
+}
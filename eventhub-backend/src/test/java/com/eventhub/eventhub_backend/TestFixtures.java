@@ -0,0 +1,78 @@
+package com.eventhub.eventhub_backend;
+
+import com.eventhub.eventhub_backend.entity.Event;
+import com.eventhub.eventhub_backend.entity.Registration;
+import com.eventhub.eventhub_backend.entity.User;
+import com.eventhub.eventhub_backend.enums.RegistrationStatus;
+import com.eventhub.eventhub_backend.enums.Role;
+import com.eventhub.eventhub_backend.repository.EventRepository;
+import com.eventhub.eventhub_backend.repository.RegistrationRepository;
+import com.eventhub.eventhub_backend.repository.UserRepository;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Saves the users, events and registrations the database tests start from. Every
+ * call creates fresh rows with unique emails, so test classes sharing the
+ * container never see each other's data. Pull it in with
+ * {@code @Import(TestFixtures.class)}.
+ */
+@TestComponent
+public class TestFixtures {
+
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+
+    public TestFixtures(UserRepository userRepository,
+                        EventRepository eventRepository,
+                        RegistrationRepository registrationRepository) {
+        this.userRepository = userRepository;
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+    }
+
+    public User user(Role role) {
+        return user(role, UUID.randomUUID() + "@test.eventhub");
+    }
+
+    public User user(Role role, String email) {
+        return userRepository.save(User.builder()
+                .name("Test " + role.name().toLowerCase())
+                .email(email)
+                .password("not-a-real-hash")
+                .role(role)
+                .build());
+    }
+
+    // An open individual event a week out, ready to be adjusted and saved
+    public Event.EventBuilder eventBuilder(User host) {
+        return Event.builder()
+                .title("Test event")
+                .eventDate(LocalDateTime.now().plusDays(7))
+                .eventEndTime(LocalDateTime.now().plusDays(7).plusHours(4))
+                .registrationDeadline(LocalDateTime.now().plusDays(6))
+                .venue("Main hall")
+                .category("Technical")
+                .maxParticipants(10)
+                .host(host);
+    }
+
+    public Event event(User host) {
+        return event(eventBuilder(host));
+    }
+
+    public Event event(Event.EventBuilder builder) {
+        return eventRepository.save(builder.build());
+    }
+
+    public Registration registration(User user, Event event, RegistrationStatus status) {
+        return registrationRepository.save(Registration.builder()
+                .user(user)
+                .event(event)
+                .status(status)
+                .build());
+    }
+}
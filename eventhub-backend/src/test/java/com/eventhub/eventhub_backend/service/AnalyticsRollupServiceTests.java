@@ -0,0 +1,74 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.PostgresContainerSupport;
+import com.eventhub.eventhub_backend.TestFixtures;
+import com.eventhub.eventhub_backend.entity.Event;
+import com.eventhub.eventhub_backend.entity.Registration;
+import com.eventhub.eventhub_backend.entity.User;
+import com.eventhub.eventhub_backend.enums.RegistrationStatus;
+import com.eventhub.eventhub_backend.enums.Role;
+import com.eventhub.eventhub_backend.repository.EventDailyStatsRepository;
+import com.eventhub.eventhub_backend.repository.RegistrationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The change tracking is a trigger on registrations, so it needs a real Postgres
+@SpringBootTest
+@Import(TestFixtures.class)
+class AnalyticsRollupServiceTests extends PostgresContainerSupport {
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventDailyStatsRepository dailyStatsRepository;
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Test
+    void refreshPicksUpInsertsAndStatusChanges() {
+        Event event = fixtures.event(fixtures.user(Role.HOST));
+        Registration registration = fixtures.registration(fixtures.user(Role.STUDENT), event, RegistrationStatus.REGISTERED);
+
+        analyticsRollupService.refreshChangedEvents();
+        assertThat(dailyStatsRepository.findSeriesByEventId(event.getId()))
+                .singleElement()
+                .satisfies(day -> {
+                    assertThat(day.getRegisteredCount()).isEqualTo(1);
+                    assertThat(day.getWaitlistCount()).isZero();
+                });
+
+        registration.setStatus(RegistrationStatus.WAITLIST);
+        registrationRepository.save(registration);
+
+        analyticsRollupService.refreshChangedEvents();
+        assertThat(dailyStatsRepository.findSeriesByEventId(event.getId()))
+                .singleElement()
+                .satisfies(day -> {
+                    assertThat(day.getRegisteredCount()).isZero();
+                    assertThat(day.getWaitlistCount()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    void deletingAnEventRemovesItsDailyStats() {
+        User host = fixtures.user(Role.HOST);
+        Event event = fixtures.event(host);
+        fixtures.registration(fixtures.user(Role.STUDENT), event, RegistrationStatus.REGISTERED);
+        analyticsRollupService.refreshChangedEvents();
+        assertThat(dailyStatsRepository.findSeriesByEventId(event.getId())).isNotEmpty();
+
+        eventService.deleteEvent(event.getId(), host.getEmail());
+
+        assertThat(dailyStatsRepository.findSeriesByEventId(event.getId())).isEmpty();
+        analyticsRollupService.refreshChangedEvents();
+        assertThat(dailyStatsRepository.findSeriesByEventId(event.getId())).isEmpty();
+    }
+}
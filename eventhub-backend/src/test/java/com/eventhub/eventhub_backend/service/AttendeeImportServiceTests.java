@@ -0,0 +1,66 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.PostgresContainerSupport;
+import com.eventhub.eventhub_backend.TestFixtures;
+import com.eventhub.eventhub_backend.dto.response.AttendeeImportResponse;
+import com.eventhub.eventhub_backend.dto.response.AttendeeImportResponse.Outcome;
+import com.eventhub.eventhub_backend.dto.response.AttendeeImportResponse.RowResult;
+import com.eventhub.eventhub_backend.entity.Event;
+import com.eventhub.eventhub_backend.entity.User;
+import com.eventhub.eventhub_backend.enums.RegistrationStatus;
+import com.eventhub.eventhub_backend.enums.Role;
+import com.eventhub.eventhub_backend.repository.RegistrationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class AttendeeImportServiceTests extends PostgresContainerSupport {
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private AttendeeImportService attendeeImportService;
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Test
+    void emailsMatchRegardlessOfCase() {
+        User host = fixtures.user(Role.HOST);
+        User student = fixtures.user(Role.STUDENT, "Mixed.Case-" + UUID.randomUUID() + "@Test.EventHub");
+        Event event = fixtures.event(host);
+
+        AttendeeImportResponse response = importCsv(event, host, "email\n" + student.getEmail().toUpperCase() + "\n");
+
+        assertThat(response.getRows()).extracting(RowResult::getOutcome).containsExactly(Outcome.REGISTERED);
+        assertThat(registrationRepository.existsByEventIdAndUserId(event.getId(), student.getId())).isTrue();
+    }
+
+    @Test
+    void cancelledRegistrationIsRegisteredAgain() {
+        User host = fixtures.user(Role.HOST);
+        User student = fixtures.user(Role.STUDENT);
+        Event event = fixtures.event(host);
+        fixtures.registration(student, event, RegistrationStatus.CANCELLED);
+
+        AttendeeImportResponse response = importCsv(event, host, student.getEmail() + "\n");
+
+        assertThat(response.getRegistered()).isEqualTo(1);
+        assertThat(registrationRepository.findByUserIdAndEventId(student.getId(), event.getId()))
+                .hasValueSatisfying(reg -> assertThat(reg.getStatus()).isEqualTo(RegistrationStatus.REGISTERED));
+    }
+
+    private AttendeeImportResponse importCsv(Event event, User host, String csv) {
+        MockMultipartFile file = new MockMultipartFile("file", "attendees.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+        return attendeeImportService.importAttendees(event.getId(), host.getId(), file);
+    }
+}
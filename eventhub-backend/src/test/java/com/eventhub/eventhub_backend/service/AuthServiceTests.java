@@ -0,0 +1,67 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.PostgresContainerSupport;
+import com.eventhub.eventhub_backend.TestFixtures;
+import com.eventhub.eventhub_backend.entity.Event;
+import com.eventhub.eventhub_backend.entity.Registration;
+import com.eventhub.eventhub_backend.entity.Team;
+import com.eventhub.eventhub_backend.entity.User;
+import com.eventhub.eventhub_backend.enums.RegistrationStatus;
+import com.eventhub.eventhub_backend.enums.Role;
+import com.eventhub.eventhub_backend.repository.RegistrationRepository;
+import com.eventhub.eventhub_backend.repository.TeamRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class AuthServiceTests extends PostgresContainerSupport {
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Test
+    void deletingTheLastMemberOfATeamFreesItsSeatForTheWaitlist() {
+        User leader = fixtures.user(Role.STUDENT);
+        User waiting = fixtures.user(Role.STUDENT);
+        Event event = fixtures.event(fixtures.eventBuilder(fixtures.user(Role.HOST))
+                .maxParticipants(1)
+                .minTeamSize(1)
+                .maxTeamSize(3));
+
+        Team team = teamRepository.save(Team.builder()
+                .event(event)
+                .name("Solo act")
+                .leader(leader)
+                .status(RegistrationStatus.REGISTERED)
+                .memberCount(1)
+                .build());
+        registrationRepository.save(Registration.builder()
+                .user(leader)
+                .event(event)
+                .team(team)
+                .status(RegistrationStatus.REGISTERED)
+                .build());
+        Registration queued = fixtures.registration(waiting, event, RegistrationStatus.WAITLIST);
+
+        authService.deleteAccount(leader.getId());
+
+        assertThat(teamRepository.findById(team.getId()))
+                .hasValueSatisfying(t -> {
+                    assertThat(t.getMemberCount()).isZero();
+                    assertThat(t.getStatus()).isEqualTo(RegistrationStatus.CANCELLED);
+                });
+        assertThat(registrationRepository.findById(queued.getId()))
+                .hasValueSatisfying(r -> assertThat(r.getStatus()).isEqualTo(RegistrationStatus.REGISTERED));
+    }
+}
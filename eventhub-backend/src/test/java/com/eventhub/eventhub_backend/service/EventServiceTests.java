@@ -0,0 +1,135 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.PostgresContainerSupport;
+import com.eventhub.eventhub_backend.TestFixtures;
+import com.eventhub.eventhub_backend.entity.Event;
+import com.eventhub.eventhub_backend.entity.Registration;
+import com.eventhub.eventhub_backend.entity.Team;
+import com.eventhub.eventhub_backend.entity.User;
+import com.eventhub.eventhub_backend.enums.RegistrationStatus;
+import com.eventhub.eventhub_backend.enums.Role;
+import com.eventhub.eventhub_backend.repository.EventRepository;
+import com.eventhub.eventhub_backend.repository.RegistrationRepository;
+import com.eventhub.eventhub_backend.repository.TeamRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class EventServiceTests extends PostgresContainerSupport {
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private EventRepository eventRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private RegistrationRepository registrationRepository;
+    @Autowired
+    private ViewTrackingService viewTrackingService;
+    @Autowired
+    private TrendingService trendingService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deletingAnEventRemovesItsTeams() {
+        User host = fixtures.user(Role.HOST);
+        User leader = fixtures.user(Role.STUDENT);
+        User member = fixtures.user(Role.STUDENT);
+        Event event = fixtures.event(fixtures.eventBuilder(host)
+                .maxParticipants(50)
+                .minTeamSize(2)
+                .maxTeamSize(4));
+
+        Team team = teamRepository.save(Team.builder()
+                .event(event)
+                .name("Null Pointers")
+                .leader(leader)
+                .status(RegistrationStatus.REGISTERED)
+                .memberCount(2)
+                .build());
+        for (User user : new User[]{leader, member}) {
+            registrationRepository.save(Registration.builder()
+                    .user(user)
+                    .event(event)
+                    .team(team)
+                    .status(RegistrationStatus.REGISTERED)
+                    .build());
+        }
+
+        eventService.deleteEvent(event.getId(), host.getEmail());
+
+        assertThat(eventRepository.existsById(event.getId())).isFalse();
+        assertThat(teamRepository.existsById(team.getId())).isFalse();
+        assertThat(registrationRepository.existsByEventIdAndUserId(event.getId(), leader.getId())).isFalse();
+    }
+
+    @Test
+    void deletingALegacyTeamLeaderIgnoresItsTeamMembersRows() throws IOException {
+        // team_members as the previous release's Hibernate mapping created it
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS team_members (
+                    id BIGSERIAL PRIMARY KEY,
+                    name VARCHAR(255) NOT NULL,
+                    email VARCHAR(255) NOT NULL,
+                    registration_id BIGINT NOT NULL)
+                """);
+        jdbcTemplate.execute("ALTER TABLE team_members DROP CONSTRAINT IF EXISTS fk_legacy_registration");
+        jdbcTemplate.execute("""
+                ALTER TABLE team_members ADD CONSTRAINT fk_legacy_registration
+                FOREIGN KEY (registration_id) REFERENCES registrations (id)
+                """);
+        jdbcTemplate.execute(new ClassPathResource("db/migration/V2__drop_team_members_registration_fk.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+
+        User host = fixtures.user(Role.HOST);
+        User leader = fixtures.user(Role.STUDENT);
+        Event event = fixtures.event(host);
+        Registration registration = fixtures.registration(leader, event, RegistrationStatus.REGISTERED);
+        jdbcTemplate.update("INSERT INTO team_members (name, email, registration_id) VALUES (?, ?, ?)",
+                "Legacy teammate", "legacy@test.eventhub", registration.getId());
+
+        eventService.deleteEvent(event.getId(), host.getEmail());
+
+        assertThat(registrationRepository.existsById(registration.getId())).isFalse();
+    }
+
+    @Test
+    void deletingAnEventRemovesItsViewAndTrendingRows() {
+        User host = fixtures.user(Role.HOST);
+        Event event = fixtures.event(host);
+        viewTrackingService.recordView(event.getId(), "viewer-1");
+        viewTrackingService.flush();
+        trendingService.sync();
+        assertThat(rowsFor("event_views", event)).isEqualTo(1);
+        assertThat(rowsFor("event_trending_scores", event)).isEqualTo(1);
+
+        // Counted before the delete, flushed after it
+        viewTrackingService.recordView(event.getId(), "viewer-2");
+        eventService.deleteEvent(event.getId(), host.getEmail());
+        viewTrackingService.flush();
+        trendingService.sync();
+
+        assertThat(rowsFor("event_views", event)).isZero();
+        assertThat(rowsFor("event_trending_scores", event)).isZero();
+        assertThat(trendingService.topEventIds(1000)).doesNotContain(event.getId());
+    }
+
+    private int rowsFor(String table, Event event) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE event_id = ?",
+                Integer.class, event.getId());
+    }
+}
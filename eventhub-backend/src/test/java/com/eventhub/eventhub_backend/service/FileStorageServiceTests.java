@@ -0,0 +1,134 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.PostgresContainerSupport;
+import com.eventhub.eventhub_backend.entity.PendingDeletion;
+import com.eventhub.eventhub_backend.repository.PendingDeletionRepository;
+import com.eventhub.eventhub_backend.repository.StoredBlobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Re-uploading content whose file is queued for deletion, on the content-addressed local backend
+@SpringBootTest(properties = {
+        "app.storage.backend=local",
+        "app.storage.local.base-url=http://localhost/api/uploads",
+        // The test plays the cleanup worker itself
+        "app.storage.deletion.interval-ms=3600000",
+        "app.storage.gc-interval-ms=3600000"
+})
+class FileStorageServiceTests extends PostgresContainerSupport {
+
+    private static final Path UPLOAD_DIR = createUploadDir();
+
+    @DynamicPropertySource
+    static void uploadDir(DynamicPropertyRegistry registry) {
+        registry.add("app.file-upload.dir", UPLOAD_DIR::toString);
+    }
+
+    @Autowired
+    private FileStorageService fileStorageService;
+    @Autowired
+    private StoredBlobRepository storedBlobRepository;
+    @Autowired
+    private PendingDeletionRepository pendingDeletionRepository;
+    @Autowired
+    private StorageBackend storageBackend;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void reuploadWaitsForAWorkerThatClaimedTheFileAndRecreatesIt() throws Exception {
+        Path upload = randomUpload();
+        String url = fileStorageService.storeFile(upload, "test");
+        fileStorageService.deleteFile(url);
+        pendingDeletionRepository.enqueueUnreferencedBlobs(LocalDateTime.now().plusMinutes(1));
+        Path stored = storedPath(url);
+        assertThat(stored).exists();
+
+        // A cleanup worker claims the row and is about to delete the file
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch delete = new CountDownLatch(1);
+        CompletableFuture<Void> worker = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    List<PendingDeletion> batch = pendingDeletionRepository.claimDue(100);
+                    assertThat(batch).extracting(PendingDeletion::getUrl).contains(url);
+                    claimed.countDown();
+                    try {
+                        delete.await();
+                        storageBackend.deleteAll(List.of(url));
+                    } catch (InterruptedException | IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    pendingDeletionRepository.deleteByIds(batch.stream().map(PendingDeletion::getId).toList());
+                }));
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> reupload = CompletableFuture.supplyAsync(() -> fileStorageService.storeFile(upload, "test"));
+        Thread.sleep(500);
+        assertThat(reupload).isNotDone();
+
+        delete.countDown();
+        worker.get(10, TimeUnit.SECONDS);
+        assertThat(reupload.get(10, TimeUnit.SECONDS)).isEqualTo(url);
+
+        assertThat(stored).exists();
+        assertThat(storedBlobRepository.findIndexedUrls(List.of(url))).containsExactly(url);
+    }
+
+    @Test
+    void reuploadCancelsAnUnclaimedQueueRow() {
+        Path upload = randomUpload();
+        String url = fileStorageService.storeFile(upload, "test");
+        fileStorageService.deleteFile(url);
+        pendingDeletionRepository.enqueueUnreferencedBlobs(LocalDateTime.now().plusMinutes(1));
+
+        assertThat(fileStorageService.storeFile(upload, "test")).isEqualTo(url);
+
+        Integer queued = new TransactionTemplate(transactionManager).execute(status ->
+                pendingDeletionRepository.lockByUrl(url).isPresent() ? 1 : 0);
+        assertThat(queued).isZero();
+        assertThat(storedPath(url)).exists();
+    }
+
+    private static Path storedPath(String url) {
+        return UPLOAD_DIR.resolve(url.substring("http://localhost/api/uploads/".length()));
+    }
+
+    // Unique bytes, so runs against the shared database never share a blob
+    private static Path randomUpload() {
+        try {
+            byte[] bytes = new byte[256];
+            ThreadLocalRandom.current().nextBytes(bytes);
+            Path file = Files.createTempFile("upload-", ".bin");
+            Files.write(file, bytes);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path createUploadDir() {
+        try {
+            return Files.createTempDirectory("eventhub-uploads-");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.EventHubBackendApplication;
+import com.eventhub.eventhub_backend.PostgresContainerSupport;
+import com.eventhub.eventhub_backend.repository.SchedulerLeaseRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two application instances against one database, as in a multi-node deployment
+class SchedulerLeaseServiceTests extends PostgresContainerSupport {
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeA != null) nodeA.close();
+        if (nodeB != null) nodeB.close();
+    }
+
+    @Test
+    void concurrentTicksOnBothNodesRunTheJobOnce() throws Exception {
+        SchedulerLeaseService a = nodeA.getBean(SchedulerLeaseService.class);
+        SchedulerLeaseService b = nodeB.getBean(SchedulerLeaseService.class);
+        assertThat(a.getInstanceId()).isNotEqualTo(b.getInstanceId());
+
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> ticks = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                SchedulerLeaseService node = i % 2 == 0 ? a : b;
+                ticks.add(pool.submit(() -> {
+                    go.await();
+                    return node.runExclusively("test-run-once", Duration.ofMinutes(1), Duration.ofMinutes(1),
+                            runs::incrementAndGet);
+                }));
+            }
+            go.countDown();
+
+            int ran = 0;
+            for (Future<Boolean> tick : ticks) {
+                if (tick.get()) ran++;
+            }
+            assertThat(ran).isEqualTo(1);
+            assertThat(runs.get()).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void leaseIsHeldForLockAtLeastForThenFreed() throws Exception {
+        SchedulerLeaseService a = nodeA.getBean(SchedulerLeaseService.class);
+        SchedulerLeaseService b = nodeB.getBean(SchedulerLeaseService.class);
+
+        assertThat(a.runExclusively("test-min-hold", Duration.ofMinutes(1), Duration.ofSeconds(2), () -> {})).isTrue();
+        // A slightly late tick on the other node must not re-run the same period
+        assertThat(b.runExclusively("test-min-hold", Duration.ofMinutes(1), Duration.ofSeconds(2), () -> {})).isFalse();
+
+        Thread.sleep(2_500);
+        assertThat(b.runExclusively("test-min-hold", Duration.ofMinutes(1), Duration.ofSeconds(2), () -> {})).isTrue();
+    }
+
+    @Test
+    void leaseOfACrashedNodeExpiresAfterLockAtMostFor() throws Exception {
+        // Node A takes the lease and dies before releasing it
+        SchedulerLeaseRepository repositoryA = nodeA.getBean(SchedulerLeaseRepository.class);
+        assertThat(repositoryA.tryAcquire("test-crash", "crashed-node", 2)).isEqualTo(1);
+
+        SchedulerLeaseService b = nodeB.getBean(SchedulerLeaseService.class);
+        assertThat(b.runExclusively("test-crash", Duration.ofMinutes(1), Duration.ZERO, () -> {})).isFalse();
+
+        Thread.sleep(2_500);
+        assertThat(b.runExclusively("test-crash", Duration.ofMinutes(1), Duration.ZERO, () -> {})).isTrue();
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        List<String> args = new ArrayList<>(List.of(datasourceArgs()));
+        args.add("--server.port=0");
+        return new SpringApplicationBuilder(EventHubBackendApplication.class).run(args.toArray(String[]::new));
+    }
+}
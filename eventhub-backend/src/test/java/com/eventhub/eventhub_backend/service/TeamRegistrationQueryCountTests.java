@@ -0,0 +1,77 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.CountingStatementInspector;
+import com.eventhub.eventhub_backend.PostgresContainerSupport;
+import com.eventhub.eventhub_backend.TestFixtures;
+import com.eventhub.eventhub_backend.dto.request.TeamRegistrationRequest;
+import com.eventhub.eventhub_backend.entity.Event;
+import com.eventhub.eventhub_backend.entity.User;
+import com.eventhub.eventhub_backend.enums.RegistrationStatus;
+import com.eventhub.eventhub_backend.enums.Role;
+import com.eventhub.eventhub_backend.repository.RegistrationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Registering a team must cost the same number of statements whatever its size
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.eventhub.eventhub_backend.CountingStatementInspector")
+@Import(TestFixtures.class)
+class TeamRegistrationQueryCountTests extends PostgresContainerSupport {
+
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Test
+    void statementCountDoesNotGrowWithTeammates() {
+        // Warm-up, so one-off work on the first call is not attributed to either size
+        statementsToRegisterTeamOf(2);
+
+        int withOneTeammate = statementsToRegisterTeamOf(1);
+        int withFiveTeammates = statementsToRegisterTeamOf(5);
+
+        assertThat(withFiveTeammates).isEqualTo(withOneTeammate);
+    }
+
+    private int statementsToRegisterTeamOf(int teammates) {
+        User leader = fixtures.user(Role.STUDENT);
+        Event event = fixtures.event(fixtures.eventBuilder(fixtures.user(Role.HOST))
+                .maxParticipants(100)
+                .minTeamSize(2)
+                .maxTeamSize(6));
+
+        TeamRegistrationRequest request = new TeamRegistrationRequest();
+        request.setTeamName("Team of " + (teammates + 1));
+        List<TeamRegistrationRequest.TeammateDto> members = new ArrayList<>();
+        List<User> invited = new ArrayList<>();
+        for (int i = 0; i < teammates; i++) {
+            User teammate = fixtures.user(Role.STUDENT);
+            invited.add(teammate);
+            TeamRegistrationRequest.TeammateDto dto = new TeamRegistrationRequest.TeammateDto();
+            dto.setEmail(teammate.getEmail());
+            members.add(dto);
+        }
+        request.setTeamMembers(members);
+
+        CountingStatementInspector.reset();
+        eventService.registerForEvent(event.getId(), leader.getId(), request);
+        int statements = CountingStatementInspector.count();
+
+        // Sanity check that the invitations were actually written
+        for (User teammate : invited) {
+            assertThat(registrationRepository.findWithTeamByUserIdAndEventId(teammate.getId(), event.getId()))
+                    .hasValueSatisfying(reg -> assertThat(reg.getStatus()).isEqualTo(RegistrationStatus.PENDING_INVITATION));
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,63 @@
+package com.eventhub.eventhub_backend.service;
+
+import com.eventhub.eventhub_backend.PostgresContainerSupport;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// The score merge is evaluated by Postgres, so it is only meaningful against a real one
+@SpringBootTest
+class TrendingServiceTests extends PostgresContainerSupport {
+
+    @Autowired
+    private TrendingService trendingService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void syncMergesDeltasIntoStoredScoreByLogSum() {
+        long eventId = randomEventId();
+
+        trendingService.record(eventId, TrendingService.Activity.REGISTRATION);
+        trendingService.sync();
+        double first = storedScore(eventId);
+
+        // The same weight again (milliseconds later) doubles the score: +1 in log2
+        trendingService.record(eventId, TrendingService.Activity.REGISTRATION);
+        trendingService.sync();
+        assertThat(storedScore(eventId)).isCloseTo(first + 1, within(1e-4));
+    }
+
+    @Test
+    void syncMergesIntoLongDecayedScoreWithoutUnderflow() {
+        long eventId = randomEventId();
+        trendingService.record(eventId, TrendingService.Activity.VIEW);
+        trendingService.sync();
+        double fresh = storedScore(eventId);
+
+        // An event that was last active thousands of half-lives ago
+        jdbcTemplate.update("UPDATE event_trending_scores SET log_score = ? WHERE event_id = ?", fresh - 5000, eventId);
+
+        trendingService.record(eventId, TrendingService.Activity.VIEW);
+        trendingService.sync();
+        assertThat(storedScore(eventId)).isCloseTo(fresh, within(1e-4));
+    }
+
+    private double storedScore(long eventId) {
+        Double score = jdbcTemplate.queryForObject(
+                "SELECT log_score FROM event_trending_scores WHERE event_id = ?", Double.class, eventId);
+        assertThat(score).isNotNull();
+        return score;
+    }
+
+    // Scores are not tied to events by a foreign key, so any id will do
+    private static long randomEventId() {
+        return ThreadLocalRandom.current().nextLong(1_000_000_000L, Long.MAX_VALUE);
+    }
+}
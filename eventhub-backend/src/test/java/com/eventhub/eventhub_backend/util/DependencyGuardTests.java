@@ -0,0 +1,185 @@
+package com.eventhub.eventhub_backend.util;
+
+import com.eventhub.eventhub_backend.exception.DependencyUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DependencyGuardTests {
+
+    private static final Duration OPEN_FOR = Duration.ofSeconds(30);
+
+    private final MutableClock clock = new MutableClock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRejectsWithoutCalling() {
+        DependencyGuard guard = guard(2, Duration.ZERO, Duration.ofMinutes(1));
+        fail(guard);
+        assertThat(guard.getState()).isEqualTo(DependencyGuard.State.CLOSED);
+        fail(guard);
+        assertThat(guard.getState()).isEqualTo(DependencyGuard.State.OPEN);
+
+        AtomicInteger calls = new AtomicInteger();
+        assertThatThrownBy(() -> guard.call(calls::incrementAndGet))
+                .isInstanceOf(DependencyUnavailableException.class)
+                .satisfies(e -> assertThat(((DependencyUnavailableException) e).getRetryAfterSeconds()).isEqualTo(30));
+        assertThat(calls).hasValue(0);
+        assertThat(meterRegistry.get("eventhub.dependency.rejected").tag("reason", "circuit_open").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void successResetsTheFailureCount() throws Exception {
+        DependencyGuard guard = guard(2, Duration.ZERO, Duration.ofMinutes(1));
+        fail(guard);
+        guard.call(() -> "ok");
+        fail(guard);
+        assertThat(guard.getState()).isEqualTo(DependencyGuard.State.CLOSED);
+    }
+
+    @Test
+    void successfulHalfOpenProbeClosesTheCircuit() throws Exception {
+        DependencyGuard guard = openGuard();
+        clock.advance(OPEN_FOR);
+
+        assertThat(guard.call(() -> "probe")).isEqualTo("probe");
+        assertThat(guard.getState()).isEqualTo(DependencyGuard.State.CLOSED);
+        assertThat(guard.call(() -> "next")).isEqualTo("next");
+    }
+
+    @Test
+    void failedHalfOpenProbeReopensTheCircuit() {
+        DependencyGuard guard = openGuard();
+        clock.advance(OPEN_FOR);
+
+        fail(guard);
+        assertThat(guard.getState()).isEqualTo(DependencyGuard.State.OPEN);
+        assertThatThrownBy(() -> guard.call(() -> "rejected")).isInstanceOf(DependencyUnavailableException.class);
+
+        clock.advance(OPEN_FOR);
+        assertThat(guard.getState()).isEqualTo(DependencyGuard.State.OPEN);
+    }
+
+    @Test
+    void onlyOneProbeRunsWhileHalfOpen() throws Exception {
+        DependencyGuard guard = openGuard();
+        clock.advance(OPEN_FOR);
+
+        CountDownLatch probeStarted = new CountDownLatch(1);
+        CountDownLatch finishProbe = new CountDownLatch(1);
+        CompletableFuture<String> probe = blockingCall(guard, probeStarted, finishProbe, "probe");
+        assertThat(probeStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(guard.getState()).isEqualTo(DependencyGuard.State.HALF_OPEN);
+
+        assertThatThrownBy(() -> guard.call(() -> "second")).isInstanceOf(DependencyUnavailableException.class);
+
+        finishProbe.countDown();
+        assertThat(probe.get(5, TimeUnit.SECONDS)).isEqualTo("probe");
+        assertThat(guard.getState()).isEqualTo(DependencyGuard.State.CLOSED);
+    }
+
+    @Test
+    void slowSuccessCountsAsFailure() throws Exception {
+        DependencyGuard guard = guard(1, Duration.ZERO, Duration.ZERO);
+        guard.call(() -> {
+            Thread.sleep(5);
+            return "late";
+        });
+        assertThat(guard.getState()).isEqualTo(DependencyGuard.State.OPEN);
+        assertThat(meterRegistry.get("eventhub.dependency.calls").tag("outcome", "slow").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondTheLimit() throws Exception {
+        DependencyGuard guard = new DependencyGuard("test", "Test service", 1, Duration.ofMillis(50),
+                Duration.ofMinutes(1), 5, OPEN_FOR, meterRegistry, clock);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = blockingCall(guard, started, release, "first");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> guard.call(() -> "second")).isInstanceOf(DependencyUnavailableException.class);
+        assertThat(meterRegistry.get("eventhub.dependency.rejected").tag("reason", "bulkhead").counter().count())
+                .isEqualTo(1);
+        // Rejections by the bulkhead say nothing about the provider's health
+        assertThat(guard.getState()).isEqualTo(DependencyGuard.State.CLOSED);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(guard.call(() -> "third")).isEqualTo("third");
+    }
+
+    private DependencyGuard openGuard() {
+        DependencyGuard guard = guard(1, Duration.ZERO, Duration.ofMinutes(1));
+        fail(guard);
+        assertThat(guard.getState()).isEqualTo(DependencyGuard.State.OPEN);
+        return guard;
+    }
+
+    private DependencyGuard guard(int failureThreshold, Duration maxWait, Duration slowCallThreshold) {
+        return new DependencyGuard("test", "Test service", 4, maxWait, slowCallThreshold,
+                failureThreshold, OPEN_FOR, meterRegistry, clock);
+    }
+
+    // Runs a call on another thread that holds its slot until released
+    private static CompletableFuture<String> blockingCall(DependencyGuard guard, CountDownLatch started,
+                                                          CountDownLatch release, String result) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return guard.call(() -> {
+                    started.countDown();
+                    release.await();
+                    return result;
+                });
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static void fail(DependencyGuard guard) {
+        assertThatThrownBy(() -> guard.run(() -> {
+            throw new IOException("provider down");
+        })).isInstanceOf(IOException.class);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}